@@ -0,0 +1,47 @@
+package vn.io.nghlong3004.apartment_management.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelperUtilBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class SortInput {
+		@Param({ "name,desc", "roomCount", "unknown,asc" })
+		public String sort;
+	}
+
+	@State(Scope.Benchmark)
+	public static class FloorNameInput {
+		@Param({ "Floor 12", "Floor 9999" })
+		public String floorName;
+	}
+
+	@Benchmark
+	public String normalizeSort(SortInput input) {
+		return HelperUtil.normalizeSort(input.sort);
+	}
+
+	@Benchmark
+	public int parseFloorNumber(FloorNameInput input) {
+		return HelperUtil.parseFloorNumber(input.floorName);
+	}
+
+}
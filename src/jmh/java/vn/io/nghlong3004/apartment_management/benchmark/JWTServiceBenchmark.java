@@ -0,0 +1,76 @@
+package vn.io.nghlong3004.apartment_management.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.ReflectionUtils;
+
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
+import vn.io.nghlong3004.apartment_management.model.Role;
+import vn.io.nghlong3004.apartment_management.service.impl.JWTServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+	private JWTServiceImpl jwtService;
+	private String token;
+
+	@Setup
+	public void setup() {
+		jwtService = new JWTServiceImpl();
+		set("jwtSecretKey", "0123456789abcdef0123456789abcdef");
+		set("accessTokenExpirationMs", 900_000L);
+		set("issuer", "nghlong3004");
+		set("clockSkewSeconds", 60L);
+		set("verifiedCacheMaxSize", 10_000L);
+		Method init = ReflectionUtils.findMethod(JWTServiceImpl.class, "init");
+		ReflectionUtils.makeAccessible(init);
+		ReflectionUtils.invokeMethod(init, jwtService);
+
+		token = jwtService.generateAccessToken(42L, Role.MANAGER);
+	}
+
+	@Benchmark
+	public String generateAccessToken() {
+		return jwtService.generateAccessToken(42L, Role.MANAGER);
+	}
+
+	@Benchmark
+	public void validateOrThrow() {
+		jwtService.validateOrThrow(token);
+	}
+
+	@Benchmark
+	public JwtClaims verify() {
+		return jwtService.verify(token);
+	}
+
+	@Benchmark
+	public Collection<? extends GrantedAuthority> getAuthorities() {
+		return jwtService.getAuthorities(token);
+	}
+
+	private void set(String name, Object value) {
+		var field = ReflectionUtils.findField(JWTServiceImpl.class, name);
+		ReflectionUtils.makeAccessible(field);
+		ReflectionUtils.setField(field, jwtService, value);
+	}
+
+}
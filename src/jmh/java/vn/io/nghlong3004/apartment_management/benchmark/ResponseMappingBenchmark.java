@@ -0,0 +1,63 @@
+package vn.io.nghlong3004.apartment_management.benchmark;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+	@Param({ "10", "100" })
+	public int roomCount;
+
+	private Floor floor;
+	private List<Room> rooms;
+
+	@Setup
+	public void setup() {
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		floor = Floor.builder().id(1L).managerId(7L).name("Floor 1").roomCount(roomCount).created(now).updated(now)
+				.build();
+		rooms = new ArrayList<>(roomCount);
+		for (int i = 0; i < roomCount; ++i) {
+			rooms.add(Room.builder().id((long) i).floorId(1L).userId(i % 2 == 0 ? (long) i : null)
+					.name(String.format("Room 1-%02d", i)).status(RoomStatus.AVAILABLE).created(now).updated(now)
+					.build());
+		}
+	}
+
+	@Benchmark
+	public RoomResponse roomResponseFrom() {
+		return RoomResponse.from(rooms.get(0));
+	}
+
+	@Benchmark
+	public FloorResponse floorResponseFrom() {
+		return FloorResponse.from(floor, rooms.stream().map(RoomResponse::from).toList(), null);
+	}
+
+}
@@ -0,0 +1,75 @@
+package vn.io.nghlong3004.apartment_management.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import vn.io.nghlong3004.apartment_management.model.ActorContext;
+import vn.io.nghlong3004.apartment_management.model.Role;
+import vn.io.nghlong3004.apartment_management.model.UserPrincipal;
+import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityUtilBenchmark {
+
+	private ActorContext actor;
+
+	@Setup
+	public void setup() {
+		List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_MANAGER"));
+		UserPrincipal principal = new UserPrincipal(42L, null, authorities);
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+		actor = ActorContext.of(42L, authorities);
+	}
+
+	@TearDown
+	public void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Benchmark
+	public boolean hasRoleHit() {
+		return SecurityUtil.hasRole("MANAGER");
+	}
+
+	@Benchmark
+	public boolean hasRoleMiss() {
+		return SecurityUtil.hasRole("ADMIN");
+	}
+
+	@Benchmark
+	public Long getCurrentUserId() {
+		return SecurityUtil.getCurrentUserId().orElse(null);
+	}
+
+	@Benchmark
+	public boolean actorHasRoleHit() {
+		return actor.hasRole(Role.MANAGER);
+	}
+
+	@Benchmark
+	public boolean actorHasRoleMiss() {
+		return actor.hasRole(Role.ADMIN);
+	}
+
+}
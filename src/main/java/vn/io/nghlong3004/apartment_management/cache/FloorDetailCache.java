@@ -0,0 +1,65 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
+
+/**
+ * Assembled floor detail views by floor id and version. The version comes
+ * from the probe the caller just made, and a load reads rows at least that
+ * new, so an entry is never older than its key; a floor changed on another
+ * node, or not yet evicted here, simply misses. Entries for a floor are still
+ * dropped after the transaction that changed it commits, so old versions do
+ * not wait for the TTL.
+ */
+@Slf4j
+@Component
+public class FloorDetailCache {
+
+	private final Cache<DetailKey, FloorResponse> floors;
+
+	public FloorDetailCache(MeterRegistry meterRegistry,
+			@Value("${apartment.management.floor.detail-cache.ttl-seconds:300}") long ttlSeconds,
+			@Value("${apartment.management.floor.detail-cache.max-size:1000}") long maxSize) {
+		this.floors = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(ttlSeconds)).maximumSize(maxSize)
+				.recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, floors, "floor_detail");
+		log.info("FloorDetailCache initialized. ttlSeconds={}, maxSize={}", ttlSeconds, maxSize);
+	}
+
+	public FloorResponse get(Long floorId, long version, Function<Long, FloorResponse> loader) {
+		return floors.get(new DetailKey(floorId, version), key -> loader.apply(floorId));
+	}
+
+	public void evict(Long floorId) {
+		floors.asMap().keySet().removeIf(key -> key.floorId().equals(floorId));
+		log.debug("Floor detail evicted for floorId={}", floorId);
+	}
+
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onFloorChanged(FloorChangedEvent event) {
+		if (event.floorId() != null) {
+			evict(event.floorId());
+		}
+	}
+
+	private record DetailKey(Long floorId, long version) {
+	}
+
+}
@@ -0,0 +1,99 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
+
+/**
+ * Encoded bodies of the public floor reads. Floor detail is keyed by floor id
+ * and ETag, so a new version never hits an old body. Listings are keyed by
+ * their query string and a generation that every floor change bumps, because a
+ * listing can show any floor; a listing still loading when the floor changes
+ * is stored under the old generation and never served again. The cache is
+ * bounded by the number of encoded bytes, not by entry count.
+ */
+@Slf4j
+@Component
+public class FloorSnapshotCache {
+
+	private final Cache<SnapshotKey, JsonSnapshot> snapshots;
+
+	private final AtomicLong listGeneration = new AtomicLong();
+
+	private final ObjectMapper objectMapper;
+
+	private final int gzipMinBytes;
+
+	public FloorSnapshotCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+			@Value("${apartment.management.floor.snapshot-cache.ttl-seconds:60}") long ttlSeconds,
+			@Value("${apartment.management.floor.snapshot-cache.max-bytes:33554432}") long maxBytes,
+			@Value("${apartment.management.floor.snapshot-cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+		this.objectMapper = objectMapper;
+		this.gzipMinBytes = gzipMinBytes;
+		this.snapshots = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(ttlSeconds)).maximumWeight(maxBytes)
+				.<SnapshotKey, JsonSnapshot>weigher((key, snapshot) -> snapshot.json().length
+						+ (snapshot.gzip() != null ? snapshot.gzip().length : 0))
+				.recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "floor_snapshot");
+		log.info("FloorSnapshotCache initialized. ttlSeconds={}, maxBytes={}, gzipMinBytes={}", ttlSeconds, maxBytes,
+				gzipMinBytes);
+	}
+
+	public JsonSnapshot detail(Long floorId, String etag, Supplier<?> loader) {
+		return snapshots.get(new SnapshotKey(floorId, 0L, etag), key -> encode(loader.get()));
+	}
+
+	public JsonSnapshot list(String query, Supplier<?> loader) {
+		return snapshots.get(new SnapshotKey(null, listGeneration.get(), query), key -> encode(loader.get()));
+	}
+
+	// Ordered after FloorDetailCache, so the detail a snapshot is rebuilt from has already been dropped.
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onFloorChanged(FloorChangedEvent event) {
+		listGeneration.incrementAndGet();
+		snapshots.asMap().keySet()
+				.removeIf(key -> key.floorId() == null || key.floorId().equals(event.floorId()));
+		log.debug("Floor snapshots evicted for floorId={}", event.floorId());
+	}
+
+	JsonSnapshot encode(Object body) {
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(body);
+			if (json.length < gzipMinBytes) {
+				return new JsonSnapshot(json, null);
+			}
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+				gzip.write(json);
+			}
+			return new JsonSnapshot(json, buffer.toByteArray());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private record SnapshotKey(Long floorId, long generation, String variant) {
+	}
+
+}
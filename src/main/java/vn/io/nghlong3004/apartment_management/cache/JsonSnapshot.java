@@ -0,0 +1,42 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A response body encoded once as UTF-8 JSON, plus its gzip form when the body
+ * is large enough to be worth compressing.
+ */
+public record JsonSnapshot(byte[] json, byte[] gzip) {
+
+	public ResponseEntity<byte[]> toResponse(String acceptEncoding) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip != null && acceptsGzip(acceptEncoding)) {
+			return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+		}
+		return builder.body(json);
+	}
+
+	static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.trim().split(";");
+			if (!parts[0].trim().equalsIgnoreCase("gzip")) {
+				continue;
+			}
+			for (int i = 1; i < parts.length; i++) {
+				String param = parts[i].replace(" ", "");
+				if (param.equals("q=0") || param.matches("q=0\\.0*")) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,225 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorSummary;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.util.LongLongHashMap;
+
+/**
+ * In-process map of the building (room to floor, floor to manager) for
+ * authorization checks. Lookups are lock-free optimistic reads and read
+ * through to the database on a miss. Changes made on this node are applied
+ * after commit; {@link #rebuild()} runs periodically to pick up changes from
+ * other nodes.
+ */
+@Slf4j
+@Component
+public class TopologyIndex {
+
+	/** Floor without a manager, or unknown room. */
+	public static final long NONE = 0L;
+
+	private static final long MISSING = -1L;
+
+	private record Maps(LongLongHashMap roomFloor, LongLongHashMap floorManager) {
+	}
+
+	private final RoomRepository roomRepository;
+	private final FloorRepository floorRepository;
+	private final Counter hitCounter;
+	private final Counter missCounter;
+	private final StampedLock lock = new StampedLock();
+
+	private Maps maps = new Maps(new LongLongHashMap(1024), new LongLongHashMap(64));
+	// write-throughs made while a rebuild loads, replayed onto its maps; null when no rebuild runs
+	private List<Consumer<Maps>> pendingWrites;
+
+	public TopologyIndex(RoomRepository roomRepository, FloorRepository floorRepository,
+			MeterRegistry meterRegistry) {
+		this.roomRepository = roomRepository;
+		this.floorRepository = floorRepository;
+		this.hitCounter = Counter.builder("topology_index.lookup").tag("result", "hit")
+				.description("Topology index lookups").register(meterRegistry);
+		this.missCounter = Counter.builder("topology_index.lookup").tag("result", "miss")
+				.description("Topology index lookups").register(meterRegistry);
+	}
+
+	public long floorOfRoom(long roomId) {
+		long floorId = lookup(Maps::roomFloor, roomId);
+		if (floorId != MISSING) {
+			return floorId;
+		}
+		Room room = roomRepository.findById(roomId).orElse(null);
+		if (room == null) {
+			return NONE;
+		}
+		cache(Maps::roomFloor, roomId, room.getFloorId());
+		return room.getFloorId();
+	}
+
+	public long managerOfFloor(long floorId) {
+		long managerId = lookup(Maps::floorManager, floorId);
+		if (managerId != MISSING) {
+			return managerId;
+		}
+		Floor floor = floorRepository.findById(floorId).orElse(null);
+		if (floor == null) {
+			return NONE;
+		}
+		managerId = floor.getManagerId() == null ? NONE : floor.getManagerId();
+		cache(Maps::floorManager, floorId, managerId);
+		return managerId;
+	}
+
+	public void managerChanged(long floorId, Long managerId) {
+		long value = managerId == null ? NONE : managerId;
+		afterCommit(() -> write(current -> current.floorManager().put(floorId, value)));
+	}
+
+	public void roomRemoved(long roomId) {
+		afterCommit(() -> write(current -> current.roomFloor().remove(roomId)));
+	}
+
+	public void floorRemoved(long floorId) {
+		afterCommit(() -> write(current -> {
+			current.floorManager().remove(floorId);
+			LongLongHashMap rooms = new LongLongHashMap(16);
+			current.roomFloor().forEach((roomId, roomFloorId) -> {
+				if (roomFloorId == floorId) {
+					rooms.put(roomId, floorId);
+				}
+			});
+			rooms.forEach((roomId, ignored) -> current.roomFloor().remove(roomId));
+		}));
+	}
+
+	/**
+	 * Reloads rooms and floors from the database. Changes this node writes
+	 * through while the cursors are read are replayed onto the fresh maps
+	 * before they replace the current ones, so the rebuild never loses them.
+	 */
+	@Transactional(readOnly = true)
+	public void rebuild() {
+		Maps current;
+		long stamp = lock.writeLock();
+		try {
+			if (pendingWrites != null) {
+				log.debug("Topology index rebuild skipped: another rebuild is running");
+				return;
+			}
+			pendingWrites = new ArrayList<>();
+			current = maps;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+
+		Maps fresh = null;
+		int replayed;
+		try {
+			fresh = load(current.roomFloor().size(), current.floorManager().size());
+		} finally {
+			stamp = lock.writeLock();
+			try {
+				replayed = pendingWrites.size();
+				if (fresh != null) {
+					for (Consumer<Maps> change : pendingWrites) {
+						change.accept(fresh);
+					}
+					maps = fresh;
+				}
+				pendingWrites = null;
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+		}
+		log.info("Topology index rebuilt: rooms={}, floors={}, replayed={}", fresh.roomFloor().size(),
+				fresh.floorManager().size(), replayed);
+	}
+
+	private Maps load(int roomCapacity, int floorCapacity) {
+		Maps fresh = new Maps(new LongLongHashMap(roomCapacity), new LongLongHashMap(floorCapacity));
+		try (Cursor<FloorSummary> floors = floorRepository.streamAll();
+				Cursor<RoomResponse> rooms = roomRepository.streamAll()) {
+			for (FloorSummary floor : floors) {
+				fresh.floorManager().put(floor.getId(), floor.getManagerId() == null ? NONE : floor.getManagerId());
+			}
+			for (RoomResponse room : rooms) {
+				fresh.roomFloor().put(room.getId(), room.getFloorId());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return fresh;
+	}
+
+	private long lookup(Function<Maps, LongLongHashMap> map, long key) {
+		long stamp = lock.tryOptimisticRead();
+		long value = map.apply(maps).get(key, MISSING);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				value = map.apply(maps).get(key, MISSING);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		(value == MISSING ? missCounter : hitCounter).increment();
+		return value;
+	}
+
+	// Read-through values are committed state, so they only fill gaps and are not replayed.
+	private void cache(Function<Maps, LongLongHashMap> map, long key, long value) {
+		long stamp = lock.writeLock();
+		try {
+			map.apply(maps).putIfAbsent(key, value);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private void write(Consumer<Maps> change) {
+		long stamp = lock.writeLock();
+		try {
+			change.accept(maps);
+			if (pendingWrites != null) {
+				pendingWrites.add(change);
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	private static void afterCommit(Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+
+}
@@ -0,0 +1,45 @@
+package vn.io.nghlong3004.apartment_management.config;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import vn.io.nghlong3004.apartment_management.model.User;
+import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.security.PrincipalCache;
+
+/**
+ * Evicts the cached principal whenever {@link UserRepository#update(User)} or
+ * {@link UserRepository#delete(Long)} runs, whichever service issues it (profile
+ * edits, manager/owner changes, request approvals, deletes).
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts(@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }))
+public class PrincipalCacheInvalidationInterceptor implements Interceptor {
+
+	private static final String USER_UPDATE = UserRepository.class.getName() + ".update";
+	private static final String USER_DELETE = UserRepository.class.getName() + ".delete";
+
+	private final PrincipalCache principalCache;
+
+	@Override
+	public Object intercept(Invocation invocation) throws Throwable {
+		Object result = invocation.proceed();
+
+		String statementId = ((MappedStatement) invocation.getArgs()[0]).getId();
+		Object parameter = invocation.getArgs()[1];
+		if (USER_UPDATE.equals(statementId) && parameter instanceof User user && user.getId() != null) {
+			principalCache.evict(user.getId());
+		} else if (USER_DELETE.equals(statementId) && parameter instanceof Long userId) {
+			principalCache.evict(userId);
+		}
+		return result;
+	}
+
+}
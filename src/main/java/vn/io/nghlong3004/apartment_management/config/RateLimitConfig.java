@@ -0,0 +1,21 @@
+package vn.io.nghlong3004.apartment_management.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import vn.io.nghlong3004.apartment_management.security.AuthRateLimitFilter;
+
+@Configuration
+public class RateLimitConfig {
+
+	@Bean
+	public FilterRegistrationBean<AuthRateLimitFilter> authRateLimitFilterRegistration(AuthRateLimitFilter filter) {
+		FilterRegistrationBean<AuthRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+		registration.addUrlPatterns("/api/v1/auth/login", "/api/v1/auth/register");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+}
@@ -22,6 +22,7 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import vn.io.nghlong3004.apartment_management.security.CustomAccessDeniedHandler;
 import vn.io.nghlong3004.apartment_management.security.JWTAuthenticationFilter;
@@ -53,7 +54,10 @@ public class SecurityConfig {
 				.csrf(csrf -> csrf.csrfTokenRequestHandler(csrfTokenRequestAttributeHandler)
 						.ignoringRequestMatchers("/api/v1/**")
 						.csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse()))
-				.authorizeHttpRequests(auth -> auth.requestMatchers("/api/v1/auth/**").permitAll()
+				// Streamed bodies finish on an ASYNC dispatch, which the JWT filter skips; the
+				// REQUEST dispatch already authorized them before anything was written.
+				.authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+						.requestMatchers("/api/v1/auth/**").permitAll()
 						.requestMatchers(HttpMethod.GET, "/api/v1/user/{id}").permitAll()
 						.requestMatchers(HttpMethod.GET, "/api/v1/floor/**").permitAll()
 						.requestMatchers(HttpMethod.POST, "/api/v1/floor/**").hasRole("ADMIN")
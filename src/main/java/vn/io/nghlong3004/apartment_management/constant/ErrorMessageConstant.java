@@ -11,12 +11,15 @@ public final class ErrorMessageConstant {
 	public static final String INVALID_ACCESS_TOKEN = "Invalid or malformed access token.";
 	public static final String INVALID_REFRESH_TOKEN = "Invalid or malformed refresh token.";
 	public static final String ACCESS_TOKEN_EXPIRED = "Access token has expired. Please sign in again.";
+	public static final String ACCESS_TOKEN_REVOKED = "Access token has been revoked. Please sign in again.";
 	public static final String REFRESH_TOKEN_EXPIRED = "Refresh token has expired. Please sign in again.";
 	public static final String ACCOUNT_INACTIVE = "Account is inactive.";
 	public static final String PROFILE_UPDATE_FORBIDDEN = "You do not have permission to change this profile.";
 	public static final String FORBIDDEN = "You do not have permission to perform this action.";
 	public static final String SELF_DELETE_FORBIDDEN = "You cannot delete your own account.";
 	public static final String USER_NOT_FOUND_WITH_ID = "User not found.";
+	public static final String AUTHENTICATION_BUSY = "Authentication service is busy. Please try again later.";
+	public static final String TOO_MANY_REQUESTS = "Too many requests. Please try again later.";
 
 	// Room
 	public static final String ROOM_NOT_FOUND = "Room does not exist.";
@@ -47,6 +50,7 @@ public final class ErrorMessageConstant {
 	public static final String ACTION_FORBIDDEN = "You do not have permission to perform this action.";
 	public static final String ACTIVE_REQUEST_EXISTS_FOR_REQUESTER = "Requester already has an active request.";
 	public static final String ACTIVE_REQUEST_EXISTS_FOR_COUNTERPART = "Counterpart already has an active request.";
+	public static final String REQUEST_BUSY = "The request is being updated concurrently. Please try again.";
 
 	// Resource
 	public static final String ENDPOINT_NOT_FOUND = "Endpoint not found.";
@@ -70,6 +74,9 @@ public final class ErrorMessageConstant {
 	public static final String MANAGER_FLOOR = "This floor has a manager.";
 	public static final String NOT_MANAGER_FLOOR = "This user is not the manager of this floor.";
 
+	// Paging
+	public static final String INVALID_CURSOR = "Invalid or malformed page cursor.";
+
 	private ErrorMessageConstant() {
 
 	}
@@ -1,20 +1,31 @@
 package vn.io.nghlong3004.apartment_management.controller;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import vn.io.nghlong3004.apartment_management.model.ExportFormat;
 import vn.io.nghlong3004.apartment_management.model.dto.FloorManagerRequest;
+import vn.io.nghlong3004.apartment_management.model.dto.ReconcileResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.RoomOwnerRequest;
 import vn.io.nghlong3004.apartment_management.service.AdminService;
+import vn.io.nghlong3004.apartment_management.service.ExportService;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -23,6 +34,10 @@ public class AdminController {
 
 	private final AdminService adminService;
 
+	private final ExportService exportService;
+
+	private final OccupancyService occupancyService;
+
 	@PutMapping(value = "/floor/{floorId}/manager", consumes = MediaType.APPLICATION_JSON_VALUE)
 	@ResponseStatus(code = HttpStatus.OK)
 	public void setManager(@PathVariable Long floorId, @RequestBody @Valid FloorManagerRequest request) {
@@ -47,4 +62,36 @@ public class AdminController {
 		adminService.deleteOwner(roomId, request);
 	}
 
+	@PostMapping("/occupancy/reconcile")
+	@ResponseStatus(code = HttpStatus.OK)
+	public ReconcileResponse reconcileOccupancy() {
+		return occupancyService.reconcile();
+	}
+
+	@GetMapping("/export/floors")
+	public ResponseEntity<StreamingResponseBody> exportFloors(
+			@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+		return attachment("floors", format, out -> exportService.exportFloors(format, out));
+	}
+
+	@GetMapping("/export/rooms")
+	public ResponseEntity<StreamingResponseBody> exportRooms(
+			@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+		return attachment("rooms", format, out -> exportService.exportRooms(format, out));
+	}
+
+	@GetMapping("/export/requests")
+	public ResponseEntity<StreamingResponseBody> exportRequests(
+			@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+		return attachment("requests", format, out -> exportService.exportRequests(format, out));
+	}
+
+	private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format,
+			StreamingResponseBody body) {
+		ContentDisposition disposition = ContentDisposition.attachment()
+				.filename(name + "." + format.getExtension()).build();
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(format.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString()).body(body);
+	}
+
 }
@@ -1,23 +1,36 @@
 package vn.io.nghlong3004.apartment_management.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
-import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
-import vn.io.nghlong3004.apartment_management.model.dto.FloorSummary;
-import vn.io.nghlong3004.apartment_management.model.dto.PagedResponse;
+import vn.io.nghlong3004.apartment_management.cache.FloorSnapshotCache;
+import vn.io.nghlong3004.apartment_management.cache.JsonSnapshot;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateRequest;
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.OccupancyResponse;
+import vn.io.nghlong3004.apartment_management.service.ExportService;
 import vn.io.nghlong3004.apartment_management.service.FloorService;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
+import vn.io.nghlong3004.apartment_management.service.ProvisioningService;
 
 @RestController
 @RequestMapping("/api/v1/floor")
@@ -26,20 +39,60 @@ public class FloorController {
 
 	private final FloorService floorService;
 
-	@GetMapping(value = "/{floorId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public FloorResponse getFloor(@Min(1) @PathVariable("floorId") Long floorId) {
-		return floorService.getFloorWithRooms(floorId);
+	private final ProvisioningService provisioningService;
+
+	private final FloorSnapshotCache floorSnapshotCache;
+
+	private final OccupancyService occupancyService;
+
+	private final ExportService exportService;
+
+	@GetMapping(value = "/{floorId}", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<byte[]> getFloor(@Min(1) @PathVariable("floorId") Long floorId, WebRequest request) {
+		ResourceVersion version = floorService.getFloorVersion(floorId);
+		if (request.checkNotModified(version.etag(), version.lastModified())) {
+			return null;
+		}
+		JsonSnapshot snapshot = floorSnapshotCache.detail(floorId, version.etag(),
+				() -> floorService.getFloorWithRooms(floorId, version.version()));
+		return snapshot.toResponse(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	@GetMapping(value = "/{floorId}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamFloor(@Min(1) @PathVariable("floorId") Long floorId,
+			WebRequest request) {
+		ResourceVersion version = floorService.getFloorVersion(floorId);
+		if (request.checkNotModified(version.etag(), version.lastModified())) {
+			return null;
+		}
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+				.body(out -> exportService.streamFloor(floorId, out));
 	}
 
-	@GetMapping
-	@ResponseStatus(HttpStatus.OK)
-	public PagedResponse<FloorSummary> floors(
+	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<byte[]> floors(
 			@RequestParam(required = false) @Size(max = 10, message = "Floor name must be at most 10 characters") String name,
 			@RequestParam(defaultValue = "0") @Min(0) int page,
 			@RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
-			@RequestParam(defaultValue = "id,asc") String sort) {
-		return floorService.getFloors(name, page, size, sort);
+			@RequestParam(defaultValue = "id,asc") String sort, @RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "true") boolean withTotal, WebRequest request) {
+		String query = String.join("|", String.valueOf(name), String.valueOf(page), String.valueOf(size), sort,
+				String.valueOf(cursor), String.valueOf(withTotal));
+		JsonSnapshot snapshot = floorSnapshotCache.list(query,
+				() -> floorService.getFloors(name, page, size, sort, cursor, withTotal));
+		return snapshot.toResponse(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	@GetMapping("/occupancy")
+	@ResponseStatus(code = HttpStatus.OK)
+	public OccupancyResponse getBuildingOccupancy() {
+		return occupancyService.getBuildingOccupancy();
+	}
+
+	@GetMapping("/{floorId}/occupancy")
+	@ResponseStatus(code = HttpStatus.OK)
+	public OccupancyResponse getFloorOccupancy(@Min(1) @PathVariable("floorId") Long floorId) {
+		return occupancyService.getFloorOccupancy(floorId);
 	}
 
 	@PostMapping
@@ -48,6 +101,12 @@ public class FloorController {
 		floorService.createFloor();
 	}
 
+	@PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseStatus(code = HttpStatus.CREATED)
+	public BulkCreateResponse createFloors(@RequestBody @Valid BulkCreateRequest request) {
+		return provisioningService.createFloors(request.count());
+	}
+
 	@DeleteMapping("/{floorId}")
 	@ResponseStatus(code = HttpStatus.OK)
 	public void deleteFloor(@PathVariable @Min(1) Long floorId) {
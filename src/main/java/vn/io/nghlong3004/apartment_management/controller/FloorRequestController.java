@@ -45,8 +45,9 @@ public class FloorRequestController {
 	@ResponseStatus(HttpStatus.OK)
 	public PagedResponse<FloorRequestSummary> requests(@RequestParam(defaultValue = "0") @Min(0) int page,
 			@RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
-			@RequestParam(defaultValue = "id,asc") String sort) {
-		return floorRequestService.getRequests(page, size, sort);
+			@RequestParam(defaultValue = "id,asc") String sort, @RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "true") boolean withTotal) {
+		return floorRequestService.getRequests(page, size, sort, cursor, withTotal);
 	}
 
 }
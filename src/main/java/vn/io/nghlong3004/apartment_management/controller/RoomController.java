@@ -2,6 +2,7 @@ package vn.io.nghlong3004.apartment_management.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,15 +13,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateRequest;
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.PagedResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.RoomRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
+import vn.io.nghlong3004.apartment_management.service.ProvisioningService;
 import vn.io.nghlong3004.apartment_management.service.RoomService;
 
 @RestController
@@ -30,16 +36,29 @@ public class RoomController {
 
 	private final RoomService roomService;
 
+	private final ProvisioningService provisioningService;
+
 	@PostMapping(value = "/{floorId}/room")
 	@ResponseStatus(code = HttpStatus.CREATED)
 	public void createRoom(@PathVariable @Min(1) Long floorId) {
 		roomService.createRoom(floorId);
 	}
 
+	@PostMapping(value = "/{floorId}/room/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseStatus(code = HttpStatus.CREATED)
+	public BulkCreateResponse createRooms(@PathVariable @Min(1) Long floorId,
+			@RequestBody @Valid BulkCreateRequest request) {
+		return provisioningService.createRooms(floorId, request.count());
+	}
+
 	@GetMapping("/{floorId}/room/{roomId}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public RoomResponse getRoom(@PathVariable @Min(1) Long floorId, @PathVariable @Min(1) Long roomId) {
-		return roomService.getRoomResponse(floorId, roomId);
+	public ResponseEntity<RoomResponse> getRoom(@PathVariable @Min(1) Long floorId, @PathVariable @Min(1) Long roomId,
+			WebRequest request) {
+		ResourceVersion version = roomService.getRoomVersion(floorId, roomId);
+		if (request.checkNotModified(version.etag(), version.lastModified())) {
+			return null;
+		}
+		return ResponseEntity.ok(roomService.getRoomResponse(floorId, roomId));
 	}
 
 	@GetMapping(value = "/{floorId}/room")
@@ -48,8 +67,9 @@ public class RoomController {
 			@RequestParam(required = false) @Size(max = 20, message = "Room name must be at most 20 characters") String name,
 			@RequestParam(defaultValue = "0") @Min(0) int page,
 			@RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
-			@RequestParam(defaultValue = "id,asc") String sort) {
-		return roomService.getRooms(floorId, name, page, size, sort);
+			@RequestParam(defaultValue = "id,asc") String sort, @RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "true") boolean withTotal) {
+		return roomService.getRooms(floorId, name, page, size, sort, cursor, withTotal);
 	}
 
 	@PutMapping(value = "/{floorId}/room/{roomId}", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -1,6 +1,7 @@
 package vn.io.nghlong3004.apartment_management.controller;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,10 +10,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.dto.UserDto;
 import vn.io.nghlong3004.apartment_management.service.UserService;
 
@@ -24,9 +27,12 @@ public class UserController {
 	private final UserService userService;
 
 	@GetMapping("/{id}")
-	@ResponseStatus(code = HttpStatus.OK)
-	public UserDto getProfile(@Min(1) @PathVariable Long id) {
-		return userService.getUser(id);
+	public ResponseEntity<UserDto> getProfile(@Min(1) @PathVariable Long id, WebRequest request) {
+		ResourceVersion version = userService.getUserVersion(id);
+		if (request.checkNotModified(version.etag(), version.lastModified())) {
+			return null;
+		}
+		return ResponseEntity.ok(userService.getUser(id));
 	}
 
 	@PutMapping(value = "/{id}", consumes = "application/json")
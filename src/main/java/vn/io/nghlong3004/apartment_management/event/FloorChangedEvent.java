@@ -0,0 +1,10 @@
+package vn.io.nghlong3004.apartment_management.event;
+
+/**
+ * Published inside a write transaction whenever something shown by the floor
+ * detail view (the floor row or any of its rooms) changes. {@code floorId} is
+ * null when only the floor listing changed, e.g. after a bulk create.
+ */
+public record FloorChangedEvent(Long floorId) {
+
+}
@@ -1,6 +1,7 @@
 package vn.io.nghlong3004.apartment_management.exception;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -84,6 +85,16 @@ public class GlobalExceptionHandler {
 		return handleException(exception.getStatus(), exception.getMessage());
 	}
 
+	@ExceptionHandler(RetryLaterException.class)
+	public ResponseEntity<ErrorResponse> handleRetryLaterException(RetryLaterException exception) {
+		log.warn("Request rejected, retry after {}s: {}", exception.getRetryAfterSeconds(), exception.getMessage());
+
+		return ResponseEntity.status(exception.getStatus())
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+				.body(ErrorResponse.builder().code(exception.getStatus().value()).message(exception.getMessage())
+						.build());
+	}
+
 	@ExceptionHandler(NoResourceFoundException.class)
 	public ResponseEntity<ErrorResponse> handleNoResourceFoundException(NoResourceFoundException exception) {
 		log.warn("A resource exception was handled: Status={}, Message='{}'", exception.getStatusCode(),
@@ -0,0 +1,16 @@
+package vn.io.nghlong3004.apartment_management.exception;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+
+@Getter
+public class RetryLaterException extends ResourceException {
+	private final long retryAfterSeconds;
+
+	public RetryLaterException(HttpStatus status, String message, long retryAfterSeconds) {
+		super(status, message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+}
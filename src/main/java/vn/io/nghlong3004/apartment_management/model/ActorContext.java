@@ -0,0 +1,89 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.util.Collection;
+import java.util.function.LongUnaryOperator;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import vn.io.nghlong3004.apartment_management.util.LongLongHashMap;
+
+/**
+ * The caller of the current request: user id, roles as a bitmask and the
+ * floors whose manager has already been checked. Built once per request by
+ * the JWT filter and read through {@code SecurityUtil.currentActor()}; it is
+ * confined to the request thread.
+ */
+public final class ActorContext {
+
+	public static final ActorContext ANONYMOUS = new ActorContext(null, 0);
+
+	private static final String[] AUTHORITIES = new String[Role.values().length];
+	static {
+		for (Role role : Role.values()) {
+			AUTHORITIES[role.ordinal()] = "ROLE_" + role.name();
+		}
+	}
+
+	private static final long MANAGES = 1L;
+	private static final long NOT_MANAGES = 2L;
+
+	private final Long userId;
+	private final int roles;
+	private LongLongHashMap managedFloors;
+
+	private ActorContext(Long userId, int roles) {
+		this.userId = userId;
+		this.roles = roles;
+	}
+
+	public static ActorContext of(Long userId, Collection<? extends GrantedAuthority> authorities) {
+		int roles = 0;
+		for (GrantedAuthority authority : authorities) {
+			String name = authority.getAuthority();
+			for (int i = 0; i < AUTHORITIES.length; ++i) {
+				if (AUTHORITIES[i].equals(name)) {
+					roles |= 1 << i;
+				}
+			}
+		}
+		return new ActorContext(userId, roles);
+	}
+
+	public Long userId() {
+		return userId;
+	}
+
+	public boolean hasRole(Role role) {
+		return (roles & (1 << role.ordinal())) != 0;
+	}
+
+	public boolean isAdmin() {
+		return hasRole(Role.ADMIN);
+	}
+
+	public boolean isSelf(Long id) {
+		return userId != null && userId.equals(id);
+	}
+
+	/**
+	 * Whether the caller is a manager and manages the floor. The answer is
+	 * remembered for the rest of the request, so {@code managerOfFloor} runs at
+	 * most once per floor.
+	 */
+	public boolean managesFloor(long floorId, LongUnaryOperator managerOfFloor) {
+		if (userId == null || !hasRole(Role.MANAGER)) {
+			return false;
+		}
+		if (managedFloors == null) {
+			managedFloors = new LongLongHashMap(4);
+		}
+		long known = managedFloors.get(floorId, 0L);
+		if (known != 0L) {
+			return known == MANAGES;
+		}
+		boolean manages = managerOfFloor.applyAsLong(floorId) == userId;
+		managedFloors.put(floorId, manages ? MANAGES : NOT_MANAGES);
+		return manages;
+	}
+
+}
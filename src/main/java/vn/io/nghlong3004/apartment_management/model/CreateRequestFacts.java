@@ -0,0 +1,17 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+/**
+ * Everything creating a floor request is validated against before the
+ * insert, read in one statement. The counterpart room columns are null when
+ * that room does not exist. Open requests in the same role are rejected by
+ * the insert itself (see {@link FloorRequestInsert}).
+ */
+public record CreateRequestFacts(Long counterpartRoomId, Long counterpartFloorId, RoomStatus counterpartRoomStatus,
+		Long counterpartRoomOwnerId, Long counterpartFloorManagerId, boolean requesterOwnsRoom,
+		boolean requesterActiveAsCounterpart, boolean counterpartActiveAsRequester) {
+
+	public boolean counterpartRoomExists() {
+		return counterpartRoomId != null;
+	}
+
+}
@@ -0,0 +1,13 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ExportFormat {
+	NDJSON("application/x-ndjson", "ndjson"), CSV("text/csv", "csv");
+
+	private final String contentType;
+	private final String extension;
+}
@@ -14,4 +14,6 @@ public class Floor {
 	private Integer roomCount;
 	private Timestamp created;
 	private Timestamp updated;
+	private Integer number;
+	private Integer nextRoomNumber;
 }
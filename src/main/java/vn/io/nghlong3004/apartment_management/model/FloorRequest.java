@@ -24,6 +24,8 @@ public class FloorRequest {
 	private Timestamp created;
 	private Timestamp updated;
 
+	private Integer version;
+
 	public static FloorRequest of(CreateRequest request) {
 		FloorRequest floorRequest = FloorRequest.builder().requesterId(request.requesterId())
 				.counterpartId(request.counterpartId()).requesterRoomId(request.requesterRoomId())
@@ -0,0 +1,15 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+/**
+ * Outcome of inserting an open floor request. {@code id} is null when one of
+ * the active-request unique indexes rejected the row; the flags then tell
+ * which side already has an open request, as far as the statement's snapshot
+ * can see.
+ */
+public record FloorRequestInsert(Long id, boolean requesterConflict, boolean counterpartConflict) {
+
+	public boolean inserted() {
+		return id != null;
+	}
+
+}
@@ -0,0 +1,16 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Claims of an access token whose signature has already been verified. One
+ * instance carries everything the request path needs, so a token is parsed
+ * once per request (or once per cache lifetime).
+ */
+public record JwtClaims(Long userId, List<String> roles, List<GrantedAuthority> authorities, Instant issuedAt,
+		Instant expiration) {
+
+}
@@ -0,0 +1,5 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+public record OccupancyCount(RoomStatus status, long roomCount) {
+
+}
@@ -0,0 +1,80 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+
+/**
+ * Position in a keyset-paginated listing: the sort column and direction plus
+ * the (sort value, id) of the row the next page starts after. A backward
+ * cursor walks the same order in reverse so the previous page can be read
+ * with the same index.
+ */
+public record PageCursor(String column, boolean descending, boolean backward, String value, Long id) {
+
+	private static final String VERSION = "v1";
+
+	private static final Map<String, String> SQL_TYPES = Map.of("id", "bigint", "name", "text", "room_count",
+			"integer", "created", "timestamp", "updated", "timestamp");
+
+	/**
+	 * First-page cursor for an ORDER BY produced by
+	 * {@code HelperUtil.normalizeSort}, or null when the column cannot be used as
+	 * a keyset (e.g. nullable manager_id).
+	 */
+	public static PageCursor start(String orderBy, Set<String> columns) {
+		String[] parts = orderBy.split(" ");
+		if (!columns.contains(parts[0]) || !SQL_TYPES.containsKey(parts[0])) {
+			return null;
+		}
+		return new PageCursor(parts[0], parts.length > 1 && "DESC".equals(parts[1]), false, null, null);
+	}
+
+	public static PageCursor decode(String token, Set<String> columns) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|", 6);
+			if (parts.length != 6 || !VERSION.equals(parts[0]) || !columns.contains(parts[1])
+					|| !SQL_TYPES.containsKey(parts[1])) {
+				throw new IllegalArgumentException(raw);
+			}
+			return new PageCursor(parts[1], "d".equals(parts[2]), "b".equals(parts[3]), parts[5],
+					Long.valueOf(parts[4]));
+		} catch (IllegalArgumentException e) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_CURSOR);
+		}
+	}
+
+	public String encode() {
+		String raw = String.join("|", VERSION, column, descending ? "d" : "a", backward ? "b" : "f", String.valueOf(id),
+				value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public PageCursor after(String value, Long id) {
+		return new PageCursor(column, descending, false, value, id);
+	}
+
+	public PageCursor before(String value, Long id) {
+		return new PageCursor(column, descending, true, value, id);
+	}
+
+	public String sqlType() {
+		return SQL_TYPES.get(column);
+	}
+
+	public String direction() {
+		return descending != backward ? "DESC" : "ASC";
+	}
+
+	public String operator() {
+		return descending != backward ? "<" : ">";
+	}
+
+}
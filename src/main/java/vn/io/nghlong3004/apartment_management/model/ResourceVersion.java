@@ -0,0 +1,21 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Cheap validator for a resource representation, read from the row's
+ * {@code version} and {@code updated} columns. The database bumps both on
+ * every write in commit order, and a floor's whenever one of its rooms
+ * changes, so a newer representation never carries an older tag.
+ */
+public record ResourceVersion(long version, Timestamp updated) {
+
+	public String etag() {
+		return "W/\"" + Long.toHexString(version) + "\"";
+	}
+
+	public long lastModified() {
+		return updated.getTime();
+	}
+
+}
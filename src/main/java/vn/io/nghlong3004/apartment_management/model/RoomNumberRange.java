@@ -0,0 +1,20 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+
+/**
+ * Room numbers reserved on a floor: {@code firstNumber} up to
+ * {@code firstNumber + count - 1}. The floor number falls back to the floor
+ * name for floors that predate the number column.
+ */
+public record RoomNumberRange(Integer floorNumber, String floorName, Integer firstNumber) {
+
+	public int resolvedFloorNumber() {
+		return floorNumber != null ? floorNumber : HelperUtil.parseFloorNumber(floorName);
+	}
+
+	public String roomName(int offset) {
+		return HelperUtil.generateRoomName(resolvedFloorNumber(), firstNumber + offset);
+	}
+
+}
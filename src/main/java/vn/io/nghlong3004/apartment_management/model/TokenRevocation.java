@@ -0,0 +1,16 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.time.Instant;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TokenRevocation {
+
+	private Long userId;
+	private Instant revokedBefore;
+	private Instant updated;
+
+}
@@ -0,0 +1,9 @@
+package vn.io.nghlong3004.apartment_management.model.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record BulkCreateRequest(
+		@Min(value = 1, message = "Count must be greater than or equal to 1") @Max(value = 1000, message = "Count must be less than or equal to 1000") int count) {
+
+}
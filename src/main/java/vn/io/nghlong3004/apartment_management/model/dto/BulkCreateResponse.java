@@ -0,0 +1,11 @@
+package vn.io.nghlong3004.apartment_management.model.dto;
+
+import java.util.List;
+
+/**
+ * Names are listed in number order. Floor numbers come from a shared sequence,
+ * so a concurrent bulk create can leave gaps between them.
+ */
+public record BulkCreateResponse(int created, List<String> names, long elapsedMs) {
+
+}
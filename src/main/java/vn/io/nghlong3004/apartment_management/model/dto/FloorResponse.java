@@ -5,7 +5,6 @@ import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import vn.io.nghlong3004.apartment_management.model.Floor;
-import vn.io.nghlong3004.apartment_management.model.Room;
 
 @Data
 @AllArgsConstructor
@@ -15,13 +14,15 @@ public class FloorResponse {
 	private String name;
 	private Integer roomCount;
 	private List<RoomResponse> roomResponses;
+	/**
+	 * Cursor for {@code GET /{floorId}/room} continuing after the last room
+	 * above, or null when every room is listed.
+	 */
+	private String roomsNext;
 
-	public static FloorResponse from(Floor floor, List<Room> rooms) {
-
-		List<RoomResponse> roomResponses = rooms.stream().map(RoomResponse::from).toList();
-
+	public static FloorResponse from(Floor floor, List<RoomResponse> roomResponses, String roomsNext) {
 		return new FloorResponse(floor.getId(), floor.getManagerId(), floor.getName(), floor.getRoomCount(),
-				roomResponses);
+				roomResponses, roomsNext);
 	}
 
 }
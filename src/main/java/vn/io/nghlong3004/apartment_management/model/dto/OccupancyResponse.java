@@ -0,0 +1,25 @@
+package vn.io.nghlong3004.apartment_management.model.dto;
+
+import java.util.List;
+
+import vn.io.nghlong3004.apartment_management.model.OccupancyCount;
+
+/**
+ * Room counts by status for one floor, or for the whole building when
+ * {@code floorId} is null.
+ */
+public record OccupancyResponse(Long floorId, long available, long reserved, long sold, long total) {
+
+	public static OccupancyResponse from(Long floorId, List<OccupancyCount> counts) {
+		long available = 0, reserved = 0, sold = 0;
+		for (OccupancyCount count : counts) {
+			switch (count.status()) {
+			case AVAILABLE -> available += count.roomCount();
+			case RESERVED -> reserved += count.roomCount();
+			case SOLD -> sold += count.roomCount();
+			}
+		}
+		return new OccupancyResponse(floorId, available, reserved, sold, available + reserved + sold);
+	}
+
+}
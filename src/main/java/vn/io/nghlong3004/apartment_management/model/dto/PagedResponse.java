@@ -15,6 +15,9 @@ public class PagedResponse<T> {
 	private List<T> content;
 	private int page;
 	private int size;
-	private long totalElements;
-	private int totalPages;
+	private Long totalElements;
+	private Integer totalPages;
+	private boolean hasNext;
+	private String next;
+	private String prev;
 }
@@ -0,0 +1,5 @@
+package vn.io.nghlong3004.apartment_management.model.dto;
+
+public record ReconcileResponse(int corrected, long elapsedMs) {
+
+}
@@ -6,28 +6,41 @@ import java.util.Optional;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
 
 import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
+import vn.io.nghlong3004.apartment_management.model.RoomNumberRange;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorSummary;
 
 @Mapper
 public interface FloorRepository {
 
 	@Select("""
-				SELECT *
+				SELECT id, manager_id, name, room_count, created, updated, number, next_room_number
 				FROM floor
 				WHERE id = #{floorId}
 			""")
 	Optional<Floor> findById(Long floorId);
 
 	@Select("""
-				SELECT *
+				SELECT id, manager_id, name, room_count, created, updated, number, next_room_number
 				FROM floor
 				WHERE LOWER(name) = LOWER(#{name})
 			""")
 	Optional<Floor> findByName(String name);
 
+	@Select("""
+				SELECT id, name, manager_id, room_count
+				FROM floor
+				WHERE LOWER(name) = LOWER(#{name})
+			""")
+	Optional<FloorSummary> findSummaryByName(String name);
+
 	@Update("""
 			    UPDATE floor
 			    SET name = #{name},
@@ -39,8 +52,8 @@ public interface FloorRepository {
 	void updateFloor(Floor existingFloor);
 
 	@Insert("""
-			    INSERT INTO floor (name, manager_id, room_count, created, updated)
-			    VALUES (#{name}, #{managerId}, #{roomCount}, NOW(), NOW())
+			    INSERT INTO floor (name, number, manager_id, room_count, created, updated)
+			    VALUES (#{name}, #{number}, #{managerId}, #{roomCount}, NOW(), NOW())
 			""")
 	void insert(Floor floor);
 
@@ -57,6 +70,13 @@ public interface FloorRepository {
 			""")
 	Optional<Boolean> floorExists(Long floorId);
 
+	@Select("""
+			    SELECT version, GREATEST(updated, rooms_updated) AS updated
+			      FROM floor
+			     WHERE id = #{floorId}
+			""")
+	Optional<ResourceVersion> findVersionById(Long floorId);
+
 	@Update("""
 			    UPDATE floor
 			       SET room_count = room_count + 1,
@@ -73,6 +93,34 @@ public interface FloorRepository {
 			""")
 	int decrementRoomCount(Long floorId);
 
+	/**
+	 * Draws {@code count} floor numbers, smallest first. Concurrent callers
+	 * interleave on the sequence, so the numbers need not be contiguous.
+	 */
+	@Select("""
+			    SELECT nextval('floor_number_seq')
+			      FROM generate_series(1, #{count})
+			     ORDER BY 1
+			""")
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	List<Long> allocateFloorNumbers(int count);
+
+	/**
+	 * Reserves {@code count} room numbers on the floor and counts the rooms in
+	 * the same statement. The row lock is held until commit, so callers on the
+	 * same floor get disjoint ranges.
+	 */
+	@Select("""
+			    UPDATE floor
+			       SET next_room_number = next_room_number + #{count},
+			           room_count = room_count + #{count},
+			           updated = NOW()
+			     WHERE id = #{floorId}
+			 RETURNING number, name, next_room_number - #{count}
+			""")
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	Optional<RoomNumberRange> allocateRoomNumbers(Long floorId, int count);
+
 	@Select("""
 				SELECT COUNT(*)
 				FROM floor
@@ -80,16 +128,38 @@ public interface FloorRepository {
 	long countAll();
 
 	@Select("""
-			    SELECT *
+			    SELECT id, manager_id, name, room_count, created, updated, number, next_room_number
 			      FROM floor
 			     ORDER BY ${orderBy}
 			     LIMIT #{limit} OFFSET #{offset}
 			""")
 	List<Floor> findPage(String orderBy, int limit, int offset);
 
+	@Select("""
+			<script>
+			    SELECT id, manager_id, name, room_count, created, updated, number, next_room_number
+			      FROM floor
+			    <if test="cursor.id != null">
+			     WHERE (${cursor.column}, id) ${cursor.operator} (CAST(#{cursor.value} AS ${cursor.sqlType}), #{cursor.id})
+			    </if>
+			     ORDER BY ${cursor.column} ${cursor.direction}, id ${cursor.direction}
+			     LIMIT #{limit}
+			</script>
+			""")
+	List<Floor> findPageByCursor(PageCursor cursor, int limit);
+
+	@Select("""
+			    SELECT id, name, manager_id, room_count
+			      FROM floor
+			     ORDER BY id
+			""")
+	@Options(fetchSize = 500)
+	Cursor<FloorSummary> streamAll();
+
 	@Update("""
 				UPDATE floor
-				SET manager_id = #{managerId}
+				SET manager_id = #{managerId},
+					updated = NOW()
 				WHERE id = #{floorId}
 			""")
 	void updateManager(Long floorId, Long managerId);
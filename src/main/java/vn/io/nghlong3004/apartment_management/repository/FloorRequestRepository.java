@@ -3,56 +3,82 @@ package vn.io.nghlong3004.apartment_management.repository;
 import java.util.List;
 import java.util.Optional;
 
-import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
 
+import vn.io.nghlong3004.apartment_management.model.CreateRequestFacts;
 import vn.io.nghlong3004.apartment_management.model.FloorRequest;
+import vn.io.nghlong3004.apartment_management.model.FloorRequestInsert;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
 
 @Mapper
 public interface FloorRequestRepository {
 
-	@Insert("""
-				INSERT INTO floor_request (requester_id, requester_room_id, counterpart_id,
-							counterpart_room_id, approver_id, status,
-							closed_reason, created, updated)
-				VALUES (#{requesterId}, #{requesterRoomId}, #{counterpartId},
-				 		#{counterpartRoomId}, #{approverId}, #{status}::request_status,
-				 		#{closedReason}, NOW(), NOW())
+	// A row that conflicts with an open request is skipped instead of aborting the transaction. The conflict flags
+	// read the statement's snapshot, so a conflicting request committed while this insert waited is not flagged.
+	@Select("""
+			    WITH inserted AS (
+			        INSERT INTO floor_request (requester_id, requester_room_id, counterpart_id,
+			                    counterpart_room_id, approver_id, status,
+			                    closed_reason, created, updated)
+			        VALUES (#{requesterId}, #{requesterRoomId}, #{counterpartId},
+			                #{counterpartRoomId}, #{approverId}, #{status}::request_status,
+			                #{closedReason}, NOW(), NOW())
+			        ON CONFLICT DO NOTHING
+			        RETURNING id
+			    )
+			    SELECT (SELECT id FROM inserted) AS id,
+			           NOT EXISTS (SELECT 1 FROM inserted) AND EXISTS (
+			               SELECT 1 FROM floor_request
+			                WHERE requester_id = #{requesterId} AND status IN ('PENDING','ACCEPTED')
+			           ) AS requester_conflict,
+			           NOT EXISTS (SELECT 1 FROM inserted) AND EXISTS (
+			               SELECT 1 FROM floor_request
+			                WHERE counterpart_id = #{counterpartId} AND status IN ('PENDING','ACCEPTED')
+			           ) AS counterpart_conflict
 			""")
-	void insert(FloorRequest floorRequest);
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	FloorRequestInsert insert(FloorRequest floorRequest);
 
 	@Select("""
 				SELECT id, requester_id AS requesterId,
 					requester_room_id AS requesterRoomId, counterpart_id AS counterpartId,
 					counterpart_room_id AS counterpartRoomId, approver_id AS approverId,
-					status, closed_reason, created, updated
+					status, closed_reason, created, updated, version
 				FROM floor_request
 				WHERE id = #{id}
 			""")
 	Optional<FloorRequest> findById(Long id);
 
+	// One round trip for every check in FloorRequestServiceImpl.create ahead of the insert. Same-role conflicts are
+	// left to the unique indexes behind insert; "active" is inlined, so each EXISTS stays on its partial index.
 	@Select("""
-			SELECT EXISTS(
-			  SELECT 1
-			  FROM floor_request
-			  WHERE requester_id = #{id}
-			    AND status IN ('PENDING','ACCEPTED')
-			  )
+			    WITH counterpart_room AS (
+			        SELECT r.id, r.floor_id, r.status, r.user_id, f.manager_id
+			          FROM room r
+			          JOIN floor f ON f.id = r.floor_id
+			         WHERE r.id = #{counterpartRoomId}
+			    ), active AS NOT MATERIALIZED (
+			        SELECT requester_id, counterpart_id
+			          FROM floor_request
+			         WHERE status IN ('PENDING','ACCEPTED')
+			    )
+			    SELECT c.id, c.floor_id, c.status, c.user_id, c.manager_id,
+			           CAST(#{requesterRoomId} AS BIGINT) IS NULL
+			               OR EXISTS (SELECT 1 FROM room WHERE id = #{requesterRoomId} AND user_id = #{requesterId})
+			               AS requester_owns_room,
+			           EXISTS (SELECT 1 FROM active WHERE counterpart_id = #{requesterId}) AS requester_as_counterpart,
+			           EXISTS (SELECT 1 FROM active WHERE requester_id = #{counterpartId}) AS counterpart_as_requester
+			      FROM (VALUES (1)) AS one
+			      LEFT JOIN counterpart_room c ON TRUE
 			""")
-	boolean existsActiveByRequesterId(Long id);
-
-	@Select("""
-			SELECT EXISTS(
-			  SELECT 1
-			  FROM floor_request
-			  WHERE counterpart_id = #{id}
-			    AND status IN ('PENDING','ACCEPTED')
-			  )
-			""")
-	boolean existsActiveByCounterpartId(Long id);
+	CreateRequestFacts findCreateFacts(Long requesterId, Long requesterRoomId, Long counterpartId,
+			Long counterpartRoomId);
 
+	// Compare-and-set on version: returns 0 when the row changed (or vanished) since it was read.
 	@Update("""
 				UPDATE floor_request
 				SET
@@ -63,16 +89,17 @@ public interface FloorRequestRepository {
 					approver_id = #{approverId},
 					status = #{status}::request_status,
 					closed_reason = #{closedReason},
-					updated = NOW()
-				WHERE id = #{id}
+					updated = NOW(),
+					version = version + 1
+				WHERE id = #{id} AND version = #{version}
 			""")
-	void update(FloorRequest floorRequest);
+	int update(FloorRequest floorRequest);
 
 	@Select("""
 				SELECT id, requester_id AS requesterId,
 					requester_room_id AS requesterRoomId, counterpart_id AS counterpartId,
 					counterpart_room_id AS counterpartRoomId, approver_id AS approverId,
-					status, closed_reason, created, updated
+					status, closed_reason, created, updated, version
 				FROM floor_request
 			""")
 	List<FloorRequest> find();
@@ -81,13 +108,40 @@ public interface FloorRequestRepository {
 			    SELECT id, requester_id AS requesterId,
 						requester_room_id AS requesterRoomId, counterpart_id AS counterpartId,
 						counterpart_room_id AS counterpartRoomId, approver_id AS approverId,
-						status, closed_reason, created, updated
+						status, closed_reason, created, updated, version
 				FROM floor_request
 			    ORDER BY ${orderBy}
 			    LIMIT #{limit} OFFSET #{offset}
 			""")
 	List<FloorRequest> findPage(String orderBy, int limit, int offset);
 
+	@Select("""
+			<script>
+			    SELECT id, requester_id AS requesterId,
+						requester_room_id AS requesterRoomId, counterpart_id AS counterpartId,
+						counterpart_room_id AS counterpartRoomId, approver_id AS approverId,
+						status, closed_reason, created, updated, version
+				FROM floor_request
+			    <if test="cursor.id != null">
+			    WHERE (${cursor.column}, id) ${cursor.operator} (CAST(#{cursor.value} AS ${cursor.sqlType}), #{cursor.id})
+			    </if>
+			    ORDER BY ${cursor.column} ${cursor.direction}, id ${cursor.direction}
+			    LIMIT #{limit}
+			</script>
+			""")
+	List<FloorRequest> findPageByCursor(PageCursor cursor, int limit);
+
+	@Select("""
+			    SELECT id, requester_id AS requesterId,
+						requester_room_id AS requesterRoomId, counterpart_id AS counterpartId,
+						counterpart_room_id AS counterpartRoomId, approver_id AS approverId,
+						status, closed_reason, created, updated, version
+				FROM floor_request
+			    ORDER BY id
+			""")
+	@Options(fetchSize = 500)
+	Cursor<FloorRequest> streamAll();
+
 	@Select("""
 				SELECT COUNT(*)
 				FROM floor_request
@@ -0,0 +1,77 @@
+package vn.io.nghlong3004.apartment_management.repository;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import vn.io.nghlong3004.apartment_management.model.OccupancyCount;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+
+@Mapper
+public interface OccupancyRepository {
+
+	@Insert("""
+			    INSERT INTO floor_occupancy (floor_id, status, room_count)
+			    VALUES (#{floorId}, #{status}::room_status, #{delta})
+			    ON CONFLICT (floor_id, status)
+			    DO UPDATE SET room_count = floor_occupancy.room_count + EXCLUDED.room_count
+			""")
+	void adjust(Long floorId, RoomStatus status, int delta);
+
+	// Counter rows are always locked in status order, so two opposite moves on one floor cannot deadlock.
+	@Insert("""
+			    INSERT INTO floor_occupancy (floor_id, status, room_count)
+			    SELECT #{floorId}, s.status, s.delta
+			      FROM (VALUES (CAST(#{from} AS room_status), -1), (CAST(#{to} AS room_status), 1)) AS s(status, delta)
+			     ORDER BY s.status
+			    ON CONFLICT (floor_id, status)
+			    DO UPDATE SET room_count = floor_occupancy.room_count + EXCLUDED.room_count
+			""")
+	void move(Long floorId, RoomStatus from, RoomStatus to);
+
+	@Select("""
+			    SELECT status, room_count
+			      FROM floor_occupancy
+			     WHERE floor_id = #{floorId}
+			""")
+	List<OccupancyCount> findByFloorId(Long floorId);
+
+	@Select("""
+			    SELECT status, SUM(room_count) AS room_count
+			      FROM floor_occupancy
+			     GROUP BY status
+			""")
+	List<OccupancyCount> sumByStatus();
+
+	// Blocks concurrent adjust/move until the rebuild commits; a writer that already adjusted is waited for.
+	@Update("LOCK TABLE floor_occupancy IN SHARE ROW EXCLUSIVE MODE")
+	void lockForRebuild();
+
+	@Select("""
+			    WITH actual AS (
+			        SELECT floor_id, status, COUNT(*)::INTEGER AS room_count
+			          FROM room
+			         GROUP BY floor_id, status
+			    ), upserted AS (
+			        INSERT INTO floor_occupancy (floor_id, status, room_count)
+			        SELECT floor_id, status, room_count FROM actual
+			        ON CONFLICT (floor_id, status)
+			        DO UPDATE SET room_count = EXCLUDED.room_count
+			         WHERE floor_occupancy.room_count <> EXCLUDED.room_count
+			        RETURNING 1
+			    ), cleared AS (
+			        DELETE FROM floor_occupancy o
+			         WHERE o.room_count <> 0
+			           AND NOT EXISTS (SELECT 1 FROM actual a WHERE a.floor_id = o.floor_id AND a.status = o.status)
+			        RETURNING 1
+			    )
+			    SELECT (SELECT COUNT(*) FROM upserted) + (SELECT COUNT(*) FROM cleared)
+			""")
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	int rebuild();
+
+}
@@ -13,9 +13,9 @@ import vn.io.nghlong3004.apartment_management.model.RefreshToken;
 @Mapper
 public interface RefreshTokenRepository {
 	@Select("""
-			SELECT id, user_id, token, expiry_date AS expiryDate FROM refresh_token WHERE token = #{token}
+			SELECT id, user_id, NULL AS token, expiry_date AS expiryDate FROM refresh_token WHERE token_hash = #{tokenHash}
 			""")
-	public Optional<RefreshToken> findByToken(String token);
+	public Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
 	@Delete("""
 			DELETE FROM refresh_token WHERE user_id = #{userId}
@@ -23,8 +23,19 @@ public interface RefreshTokenRepository {
 	public void deleteByUserId(Long userId);
 
 	@Insert("""
-			INSERT INTO refresh_token(user_id, token, expiry_date) VALUES(#{userId}, #{token}, #{expiryDate})
+			INSERT INTO refresh_token(user_id, token_hash, expiry_date) VALUES(#{userId}, #{tokenHash}, #{expiryDate})
 			""")
-	public void save(Long userId, String token, Instant expiryDate);
+	public void save(Long userId, byte[] tokenHash, Instant expiryDate);
+
+	@Delete("""
+			DELETE FROM refresh_token
+			WHERE id IN (
+				SELECT id
+				FROM refresh_token
+				WHERE expiry_date < #{now}
+				LIMIT #{limit}
+			)
+			""")
+	public int deleteExpired(Instant now, int limit);
 
 }
@@ -3,44 +3,122 @@ package vn.io.nghlong3004.apartment_management.repository;
 import java.util.List;
 import java.util.Optional;
 
-import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.cursor.Cursor;
 
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
 
 @Mapper
 public interface RoomRepository {
 
 	@Select("""
-				SELECT *
+				SELECT id, floor_id, user_id, name, status, created, updated
 			 	FROM  room
 			 	WHERE floor_id = #{floorId}
 			 	AND id = #{roomId}
 			""")
 	public Optional<Room> findRoomByFloorIdAndRoomId(Long floorId, Long roomId);
 
-	@Update("""
-				UPDATE room
+	@Select("""
+				SELECT id, floor_id, user_id, name, status
+				FROM room
+				WHERE floor_id = #{floorId}
+				AND id = #{roomId}
+			""")
+	Optional<RoomResponse> findResponseByFloorIdAndRoomId(Long floorId, Long roomId);
+
+	@Select("""
+				SELECT version, updated
+				FROM room
+				WHERE floor_id = #{floorId}
+				AND id = #{roomId}
+			""")
+	Optional<ResourceVersion> findVersionByFloorIdAndRoomId(Long floorId, Long roomId);
+
+	// Returns the status the row had when it was locked, or null if the room is gone.
+	@Select("""
+				UPDATE room r
 				SET
 				   floor_id = #{floorId},
 				   user_id = #{userId},
 				   name = #{name},
 				   status = #{status}::room_status ,
 				   updated = NOW()
-				WHERE  id = #{id}
+				FROM (SELECT id, status FROM room WHERE id = #{id} FOR UPDATE) previous
+				WHERE  r.id = previous.id
+				RETURNING previous.status
 			""")
-	public void updateRoom(Room room);
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	public RoomStatus updateRoom(Room room);
 
+	// Rows are locked in id order, so concurrent swaps over overlapping rooms queue instead of deadlocking.
 	@Select("""
-				SELECT *
+			<script>
+			    SELECT id, floor_id, user_id, name, status, created, updated
+			      FROM room
+			     WHERE id IN <foreach collection="roomIds" item="roomId" open="(" separator="," close=")">#{roomId}</foreach>
+			     ORDER BY id
+			       FOR UPDATE
+			</script>
+			""")
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	List<Room> lockByIds(List<Long> roomIds);
+
+	// Writes the owner and status of every room in one statement and moves each new owner to the room's floor.
+	@Update("""
+			<script>
+			    WITH moved AS (
+			        UPDATE room r
+			           SET user_id = v.user_id, status = v.status, updated = NOW()
+			          FROM (VALUES
+			          <foreach collection="rooms" item="room" separator=",">
+			              (#{room.id}, CAST(#{room.userId} AS BIGINT), CAST(#{room.status} AS room_status))
+			          </foreach>
+			          ) AS v(id, user_id, status)
+			         WHERE r.id = v.id
+			        RETURNING r.floor_id, r.user_id
+			    )
+			    UPDATE floor_user u
+			       SET floor_id = m.floor_id, updated = NOW()
+			      FROM moved m
+			     WHERE u.id = m.user_id
+			</script>
+			""")
+	void reassignOwners(List<Room> rooms);
+
+	@Select("""
+				SELECT id, floor_id, user_id, name, status, created, updated
 			 	FROM  room
 			 	WHERE floor_id = #{floorId}
 			""")
 	public List<Room> findAllRoomsByFloorId(Long floorId);
 
+	@Select("""
+				SELECT id, floor_id, user_id, name, status
+				FROM room
+				WHERE floor_id = #{floorId}
+				ORDER BY id
+				LIMIT #{limit}
+			""")
+	List<RoomResponse> findFirstResponsesByFloorId(Long floorId, int limit);
+
+	@Select("""
+				SELECT id, floor_id, user_id, name, status
+				FROM room
+				WHERE floor_id = #{floorId}
+				ORDER BY id
+			""")
+	@Options(fetchSize = 500)
+	Cursor<RoomResponse> streamResponsesByFloorId(Long floorId);
+
 	@Insert("""
 			    INSERT INTO room (floor_id, user_id, name, status, created, updated)
 			    VALUES (#{floorId}, #{userId}, #{name},
@@ -55,27 +133,37 @@ public interface RoomRepository {
 			""")
 	Optional<Boolean> existsByFloorIdAndRoomId(Long floorId, Long roomId);
 
-	@Delete("""
+	@Select("""
 			    DELETE FROM room
 			    WHERE id = #{roomId} AND floor_id = #{floorId}
+			    RETURNING status
 			""")
-	void deleteByIdAndFloorId(Long roomId, Long floorId);
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	RoomStatus deleteByIdAndFloorId(Long roomId, Long floorId);
 
 	@Select("""
-			    SELECT *
+			    SELECT id, floor_id, user_id, name, status, created, updated
 			      FROM room
 			     WHERE floor_id = #{floorId}
 			       AND LOWER(name) = LOWER(#{name})
 			""")
 	Optional<Room> findByFloorIdAndName(Long floorId, String name);
 
+	@Select("""
+			    SELECT id, floor_id, user_id, name, status
+			      FROM room
+			     WHERE floor_id = #{floorId}
+			       AND LOWER(name) = LOWER(#{name})
+			""")
+	Optional<RoomResponse> findResponseByFloorIdAndName(Long floorId, String name);
+
 	@Select("""
 			    SELECT COUNT(id) FROM room WHERE floor_id = #{floorId}
 			""")
 	long countByFloorId(Long floorId);
 
 	@Select("""
-			    SELECT *
+			    SELECT id, floor_id, user_id, name, status, created, updated
 			      FROM room
 			     WHERE floor_id = #{floorId}
 			     ORDER BY ${orderBy}
@@ -84,7 +172,29 @@ public interface RoomRepository {
 	List<Room> findPageByFloorId(Long floorId, String orderBy, int limit, int offset);
 
 	@Select("""
-				SELECT *
+			<script>
+			    SELECT id, floor_id, user_id, name, status, created, updated
+			      FROM room
+			     WHERE floor_id = #{floorId}
+			    <if test="cursor.id != null">
+			       AND (${cursor.column}, id) ${cursor.operator} (CAST(#{cursor.value} AS ${cursor.sqlType}), #{cursor.id})
+			    </if>
+			     ORDER BY ${cursor.column} ${cursor.direction}, id ${cursor.direction}
+			     LIMIT #{limit}
+			</script>
+			""")
+	List<Room> findPageByFloorIdAndCursor(Long floorId, PageCursor cursor, int limit);
+
+	@Select("""
+			    SELECT id, floor_id, user_id, name, status
+			      FROM room
+			     ORDER BY floor_id, id
+			""")
+	@Options(fetchSize = 500)
+	Cursor<RoomResponse> streamAll();
+
+	@Select("""
+				SELECT id, floor_id, user_id, name, status, created, updated
 				FROM room
 				WHERE id = #{roomId}
 			""")
@@ -92,7 +202,7 @@ public interface RoomRepository {
 	Optional<Room> findById(Long roomId);
 
 	@Select("""
-				SELECT *
+				SELECT id, floor_id, user_id, name, status, created, updated
 				FROM room
 				WHERE user_id = #{userId}
 			""")
@@ -0,0 +1,22 @@
+package vn.io.nghlong3004.apartment_management.repository;
+
+import java.util.Optional;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+@Mapper
+public interface StatisticsRepository {
+
+	/**
+	 * Planner row estimate for a whole table; negative until the table has been
+	 * vacuumed or analyzed.
+	 */
+	@Select("""
+			    SELECT reltuples::bigint
+			      FROM pg_class
+			     WHERE oid = to_regclass(#{table})
+			""")
+	Optional<Long> estimateRowCount(String table);
+
+}
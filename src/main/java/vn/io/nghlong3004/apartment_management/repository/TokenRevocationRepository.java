@@ -0,0 +1,43 @@
+package vn.io.nghlong3004.apartment_management.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import vn.io.nghlong3004.apartment_management.model.TokenRevocation;
+
+@Mapper
+public interface TokenRevocationRepository {
+
+	@Insert("""
+			INSERT INTO token_revocation(user_id, revoked_before, updated)
+			VALUES(#{userId}, #{revokedBefore}, clock_timestamp())
+			ON CONFLICT (user_id) DO UPDATE
+			SET revoked_before = GREATEST(token_revocation.revoked_before, EXCLUDED.revoked_before),
+				updated = clock_timestamp()
+			""")
+	void upsert(Long userId, Instant revokedBefore);
+
+	@Select("""
+			SELECT revoked_before FROM token_revocation WHERE user_id = #{userId}
+			""")
+	Optional<Instant> findRevokedBefore(Long userId);
+
+	@Select("""
+			SELECT user_id, revoked_before, updated
+			FROM token_revocation
+			WHERE updated > #{since}
+			""")
+	List<TokenRevocation> findUpdatedSince(Instant since);
+
+	@Delete("""
+			DELETE FROM token_revocation WHERE revoked_before < #{before}
+			""")
+	int deleteRevokedBefore(Instant before);
+
+}
@@ -1,14 +1,18 @@
 package vn.io.nghlong3004.apartment_management.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.User;
+import vn.io.nghlong3004.apartment_management.model.dto.UserDto;
 
 @Mapper
 public interface UserRepository {
@@ -40,14 +44,29 @@ public interface UserRepository {
 			""")
 	Optional<String> findPasswordByEmail(String email);
 
+	// The hash is only needed at login (findByEmail); the NULL keeps the constructor's column slot.
 	@Select("""
-			SELECT id, first_name AS firstName, last_name AS lastName, email, password, phone_number AS phoneNumber,
-			role, status, floor_id, created, updated
+			SELECT id, first_name AS firstName, last_name AS lastName, email, NULL AS password,
+			phone_number AS phoneNumber, role, status, floor_id, created, updated
 			FROM floor_user
 			WHERE id = #{userId}
 			""")
 	Optional<User> findById(Long userId);
 
+	@Select("""
+			SELECT email, first_name, last_name, phone_number
+			FROM floor_user
+			WHERE id = #{userId}
+			""")
+	Optional<UserDto> findProfileById(Long userId);
+
+	@Select("""
+			SELECT version, updated
+			FROM floor_user
+			WHERE id = #{userId}
+			""")
+	Optional<ResourceVersion> findVersionById(Long userId);
+
 	@Update("""
 			UPDATE floor_user
 			SET
@@ -63,6 +82,18 @@ public interface UserRepository {
 			""")
 	void update(User user);
 
+	@Select("""
+			<script>
+			    SELECT id
+			      FROM floor_user
+			     WHERE id IN <foreach collection="userIds" item="userId" open="(" separator="," close=")">#{userId}</foreach>
+			     ORDER BY id
+			       FOR UPDATE
+			</script>
+			""")
+	@Options(flushCache = Options.FlushCachePolicy.TRUE, useCache = false)
+	List<Long> lockByIds(List<Long> userIds);
+
 	@Delete("""
 			DELETE
 			FROM floor_user
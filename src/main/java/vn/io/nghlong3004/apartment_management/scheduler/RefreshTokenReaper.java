@@ -0,0 +1,56 @@
+package vn.io.nghlong3004.apartment_management.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.service.RefreshTokenService;
+
+/**
+ * Deletes expired refresh tokens in bounded batches. Each batch runs in its own
+ * short transaction so the sweep never holds locks on a large part of the
+ * table.
+ */
+@Slf4j
+@Component
+public class RefreshTokenReaper {
+
+	private final RefreshTokenService refreshTokenService;
+	private final Counter deletedCounter;
+	private final Timer batchTimer;
+
+	@Value("${apartment.management.refresh-token.reaper.batch-size:1000}")
+	private int batchSize;
+
+	@Value("${apartment.management.refresh-token.reaper.max-batches:100}")
+	private int maxBatches;
+
+	public RefreshTokenReaper(RefreshTokenService refreshTokenService, MeterRegistry meterRegistry) {
+		this.refreshTokenService = refreshTokenService;
+		this.deletedCounter = Counter.builder("refresh_token.reaper.deleted")
+				.description("Expired refresh tokens deleted by the reaper").register(meterRegistry);
+		this.batchTimer = Timer.builder("refresh_token.reaper.batch")
+				.description("Latency of one refresh token reaper batch").register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${apartment.management.refresh-token.reaper.interval-ms:300000}", initialDelayString = "${apartment.management.refresh-token.reaper.interval-ms:300000}")
+	public void reap() {
+		long total = 0;
+		for (int batch = 0; batch < maxBatches; ++batch) {
+			int deleted = batchTimer.record(() -> refreshTokenService.deleteExpiredBatch(batchSize));
+			deletedCounter.increment(deleted);
+			total += deleted;
+			if (deleted < batchSize) {
+				break;
+			}
+		}
+		if (total > 0) {
+			log.info("Refresh token reaper deleted {} expired tokens", total);
+		}
+	}
+
+}
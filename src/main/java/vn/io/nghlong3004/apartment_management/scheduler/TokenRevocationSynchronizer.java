@@ -0,0 +1,29 @@
+package vn.io.nghlong3004.apartment_management.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
+
+/**
+ * Keeps the in-memory revocation filter in step with token_revocation, which
+ * other nodes write to as well.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationSynchronizer {
+
+	private final TokenRevocationService tokenRevocationService;
+
+	@Scheduled(fixedDelayString = "${apartment.management.security.revocation.sync-interval-ms:5000}", initialDelayString = "${apartment.management.security.revocation.sync-interval-ms:5000}")
+	public void sync() {
+		tokenRevocationService.sync();
+	}
+
+	@Scheduled(fixedDelayString = "${apartment.management.security.revocation.rebuild-interval-ms:900000}", initialDelayString = "${apartment.management.security.revocation.rebuild-interval-ms:900000}")
+	public void rebuild() {
+		tokenRevocationService.rebuild();
+	}
+
+}
@@ -0,0 +1,24 @@
+package vn.io.nghlong3004.apartment_management.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import vn.io.nghlong3004.apartment_management.cache.TopologyIndex;
+
+/**
+ * Loads the topology index at startup and reloads it so that ownership and
+ * manager changes made on other nodes show up within one interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class TopologyIndexRefresher {
+
+	private final TopologyIndex topologyIndex;
+
+	@Scheduled(fixedDelayString = "${apartment.management.topology.refresh-interval-ms:60000}", initialDelay = 0)
+	public void refresh() {
+		topologyIndex.rebuild();
+	}
+
+}
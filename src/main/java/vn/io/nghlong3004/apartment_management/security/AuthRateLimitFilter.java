@@ -0,0 +1,141 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+import vn.io.nghlong3004.apartment_management.util.JsonErrorWriter;
+
+/**
+ * Rate limits login and register by client IP and by normalized email before
+ * the request reaches Spring Security, the database or the password hasher.
+ */
+@Slf4j
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+	private static final String LOGIN_PATH = "/api/v1/auth/login";
+	private static final String REGISTER_PATH = "/api/v1/auth/register";
+	private static final int MAX_PEEK_BYTES = 8 * 1024;
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	private final boolean enabled;
+	private final long idleNanos;
+	private final TokenBucketRateLimiter ipLimiter;
+	private final TokenBucketRateLimiter emailLimiter;
+	private final Counter ipRejected;
+	private final Counter emailRejected;
+
+	public AuthRateLimitFilter(MeterRegistry meterRegistry,
+			@Value("${apartment.management.rate-limit.enabled:true}") boolean enabled,
+			@Value("${apartment.management.rate-limit.ip.capacity:20}") int ipCapacity,
+			@Value("${apartment.management.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+			@Value("${apartment.management.rate-limit.email.capacity:5}") int emailCapacity,
+			@Value("${apartment.management.rate-limit.email.refill-per-minute:5}") int emailRefillPerMinute,
+			@Value("${apartment.management.rate-limit.idle-eviction-ms:600000}") long idleEvictionMs) {
+		this.enabled = enabled;
+		this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+		this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPerMinute);
+		this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPerMinute);
+		this.ipRejected = Counter.builder("auth.rate_limit.rejected").tag("key", "ip")
+				.description("Auth requests rejected by the rate limiter").register(meterRegistry);
+		this.emailRejected = Counter.builder("auth.rate_limit.rejected").tag("key", "email")
+				.description("Auth requests rejected by the rate limiter").register(meterRegistry);
+		Gauge.builder("auth.rate_limit.buckets", ipLimiter, TokenBucketRateLimiter::size).tag("key", "ip")
+				.register(meterRegistry);
+		Gauge.builder("auth.rate_limit.buckets", emailLimiter, TokenBucketRateLimiter::size).tag("key", "email")
+				.register(meterRegistry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!enabled || !HttpMethod.POST.matches(request.getMethod())) {
+			return true;
+		}
+		String path = request.getRequestURI();
+		return !(LOGIN_PATH.equals(path) || REGISTER_PATH.equals(path));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long now = System.nanoTime();
+
+		long ipWait = ipLimiter.tryAcquire(request.getRemoteAddr(), now);
+		if (ipWait > 0) {
+			ipRejected.increment();
+			log.warn("Rate limit exceeded for ip={} path={}", request.getRemoteAddr(), request.getRequestURI());
+			reject(response, ipWait);
+			return;
+		}
+
+		CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_PEEK_BYTES);
+		String email = HelperUtil.normalizeEmail(readEmail(cachedRequest.getPrefix()));
+		if (email != null) {
+			long emailWait = emailLimiter.tryAcquire(email, now);
+			if (emailWait > 0) {
+				emailRejected.increment();
+				log.warn("Rate limit exceeded for email={} path={}", email, request.getRequestURI());
+				reject(response, emailWait);
+				return;
+			}
+		}
+
+		filterChain.doFilter(cachedRequest, response);
+	}
+
+	@Scheduled(fixedDelayString = "${apartment.management.rate-limit.idle-eviction-ms:600000}")
+	public void evictIdleBuckets() {
+		long now = System.nanoTime();
+		int evicted = ipLimiter.evictIdle(now, idleNanos) + emailLimiter.evictIdle(now, idleNanos);
+		if (evicted > 0) {
+			log.debug("Evicted {} idle rate limit buckets", evicted);
+		}
+	}
+
+	private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+		long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		JsonErrorWriter.write(response, 429, ErrorMessageConstant.TOO_MANY_REQUESTS);
+	}
+
+	private String readEmail(byte[] body) {
+		try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return null;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if ("email".equals(field)) {
+					return value == JsonToken.VALUE_STRING ? parser.getText() : null;
+				}
+				parser.skipChildren();
+			}
+		} catch (IOException e) {
+			log.debug("Could not read email from auth request body: {}", e.getMessage());
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,98 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Buffers at most {@code limit} bytes of the request body so a filter can peek
+ * at it, then replays the buffered prefix followed by the rest of the original
+ * stream to the handler.
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+	private final byte[] prefix;
+	private final ServletInputStream original;
+	private ServletInputStream replay;
+
+	public CachedBodyHttpServletRequest(HttpServletRequest request, int limit) throws IOException {
+		super(request);
+		this.original = request.getInputStream();
+		this.prefix = original.readNBytes(limit);
+	}
+
+	public byte[] getPrefix() {
+		return prefix;
+	}
+
+	@Override
+	public ServletInputStream getInputStream() {
+		if (replay == null) {
+			replay = new ReplayInputStream(new SequenceInputStream(new ByteArrayInputStream(prefix), original));
+		}
+		return replay;
+	}
+
+	@Override
+	public BufferedReader getReader() {
+		String encoding = getCharacterEncoding();
+		Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+		return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+	}
+
+	private final class ReplayInputStream extends ServletInputStream {
+
+		private final InputStream delegate;
+		private boolean finished;
+
+		private ReplayInputStream(InputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = delegate.read();
+			finished = b < 0;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = delegate.read(b, off, len);
+			finished = n < 0;
+			return n;
+		}
+
+		@Override
+		public boolean isFinished() {
+			return finished;
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		// Reads never wait for a callback here, so the listener can drain the body right away.
+		@Override
+		public void setReadListener(ReadListener readListener) {
+			try {
+				readListener.onDataAvailable();
+				readListener.onAllDataRead();
+			} catch (IOException e) {
+				readListener.onError(e);
+			}
+		}
+	}
+
+}
@@ -21,8 +21,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.model.ActorContext;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
 import vn.io.nghlong3004.apartment_management.service.JWTService;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
 import vn.io.nghlong3004.apartment_management.service.impl.UserDetailsServiceImpl;
+import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
 
 @Component
 @RequiredArgsConstructor
@@ -32,6 +36,7 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 	private final JWTService jwtService;
 	private final UserDetailsServiceImpl userDetailsService;
 	private final JwtAuthenticationEntryPoint authenticationEntryPoint;
+	private final TokenRevocationService tokenRevocationService;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -52,8 +57,9 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 		String token = authHeader.substring(7);
 		log.info("Extracted JWT token: {}", token);
 
+		JwtClaims claims;
 		try {
-			jwtService.validateOrThrow(token);
+			claims = jwtService.verify(token);
 		} catch (ExpiredJwtException e) {
 			authenticationEntryPoint.commence(request, response,
 					new AuthenticationException(ErrorMessageConstant.ACCESS_TOKEN_EXPIRED) {
@@ -66,16 +72,28 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		Long userId = jwtService.getUserId(token);
+		Long userId = claims.userId();
+		if (tokenRevocationService.isRevoked(userId, claims.issuedAt())) {
+			log.warn("Rejected revoked access token for userId={}", userId);
+			authenticationEntryPoint.commence(request, response,
+					new AuthenticationException(ErrorMessageConstant.ACCESS_TOKEN_REVOKED) {
+					});
+			return;
+		}
 		log.info("JWT validated successfully for userId={}", userId);
 
-		UserDetails user = userDetailsService.loadUserById(userId);
-		Collection<? extends GrantedAuthority> authorities = jwtService.getAuthorities(token);
+		UserDetails user = userDetailsService.loadUser(claims);
+		Collection<? extends GrantedAuthority> authorities = claims.authorities();
 		UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user, null,
 				(authorities == null || authorities.isEmpty()) ? user.getAuthorities() : authorities);
 		auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 		SecurityContextHolder.getContext().setAuthentication(auth);
-		filterChain.doFilter(request, response);
+		SecurityUtil.bindActor(ActorContext.of(userId, auth.getAuthorities()));
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			SecurityUtil.clearActor();
+		}
 	}
 
 	private boolean isPublic(String path) {
@@ -0,0 +1,115 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.RetryLaterException;
+
+/**
+ * Runs BCrypt on a dedicated fixed-size pool with a bounded queue. When the
+ * queue is full the call is rejected immediately with 503 instead of piling up
+ * servlet threads behind CPU-bound hashing. Callers must not hold a
+ * transaction while they wait, and the queue is kept well below the
+ * connection pool size.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long retryAfterSeconds;
+	private final Timer encodeTimer;
+	private final Timer matchesTimer;
+	private final Counter rejectedCounter;
+
+	public PasswordHasher(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+			@Value("${apartment.management.security.password-hasher.threads:0}") int threads,
+			@Value("${apartment.management.security.password-hasher.queue-capacity:4}") int queueCapacity,
+			@Value("${apartment.management.security.password-hasher.retry-after-seconds:1}") long retryAfterSeconds) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadIndex = new AtomicInteger();
+		this.passwordEncoder = passwordEncoder;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), r -> {
+					Thread thread = new Thread(r, "password-hasher-" + threadIndex.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+
+		Gauge.builder("password_hasher.queue.depth", executor, e -> e.getQueue().size())
+				.description("Password hashing tasks waiting for a thread").register(meterRegistry);
+		Gauge.builder("password_hasher.active", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Password hashing tasks currently running").register(meterRegistry);
+		this.encodeTimer = Timer.builder("password_hasher.latency").tag("operation", "encode")
+				.description("Time spent hashing a password").register(meterRegistry);
+		this.matchesTimer = Timer.builder("password_hasher.latency").tag("operation", "matches")
+				.description("Time spent hashing a password").register(meterRegistry);
+		this.rejectedCounter = Counter.builder("password_hasher.rejected")
+				.description("Password hashing tasks rejected because the queue was full").register(meterRegistry);
+
+		log.info("PasswordHasher initialized. threads={}, queueCapacity={}", poolSize, queueCapacity);
+	}
+
+	public String encode(String rawPassword) {
+		return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+	}
+
+	public boolean matches(String rawPassword, String encodedPassword) {
+		return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private <T> T submit(Timer timer, Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(() -> timer.recordCallable(task));
+		} catch (RejectedExecutionException e) {
+			rejectedCounter.increment();
+			log.warn("Password hashing rejected: queue full (depth={})", executor.getQueue().size());
+			throw busy();
+		}
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw busy();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private RetryLaterException busy() {
+		return new RetryLaterException(HttpStatus.SERVICE_UNAVAILABLE, ErrorMessageConstant.AUTHENTICATION_BUSY,
+				retryAfterSeconds);
+	}
+
+}
@@ -0,0 +1,56 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.model.UserPrincipal;
+
+/**
+ * Short-lived cache of authenticated principals by user id, so the JWT filter
+ * does not query floor_user on every request. Entries are dropped whenever the
+ * user row is updated or deleted.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+	private final Cache<Long, UserPrincipal> principals;
+
+	public PrincipalCache(@Value("${apartment.management.security.principal-cache.ttl-seconds:30}") long ttlSeconds,
+			@Value("${apartment.management.security.principal-cache.max-size:10000}") long maxSize) {
+		this.principals = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(ttlSeconds)).maximumSize(maxSize)
+				.build();
+		log.info("PrincipalCache initialized. ttlSeconds={}, maxSize={}", ttlSeconds, maxSize);
+	}
+
+	public UserPrincipal get(Long userId, Function<Long, UserPrincipal> loader) {
+		return principals.get(userId, loader);
+	}
+
+	/**
+	 * Drops the cached principal now and again once the surrounding transaction
+	 * commits, so a concurrent reader cannot re-cache the pre-commit row.
+	 */
+	public void evict(Long userId) {
+		principals.invalidate(userId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					principals.invalidate(userId);
+				}
+			});
+		}
+		log.debug("Principal evicted for userId={}", userId);
+	}
+
+}
@@ -0,0 +1,63 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, stored as a single theoretical-arrival-time (GCRA) so
+ * that acquiring a token is one CAS on an {@link AtomicLong}. Keys live in a
+ * {@link ConcurrentHashMap}, which is already lock-striped; no bucket is ever
+ * guarded by a lock.
+ */
+public class TokenBucketRateLimiter {
+
+	private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+	private final long emissionIntervalNanos;
+	private final long burstToleranceNanos;
+
+	public TokenBucketRateLimiter(int capacity, int refillPerMinute) {
+		if (capacity < 1 || refillPerMinute < 1) {
+			throw new IllegalArgumentException("capacity and refillPerMinute must be positive");
+		}
+		this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+		this.burstToleranceNanos = emissionIntervalNanos * capacity;
+	}
+
+	/**
+	 * Takes one token for {@code key}.
+	 *
+	 * @return {@code 0} when the token was granted, otherwise the nanoseconds
+	 *         until the next token becomes available
+	 */
+	public long tryAcquire(String key, long nowNanos) {
+		AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+		while (true) {
+			long current = tat.get();
+			long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+			long wait = next - nowNanos - burstToleranceNanos;
+			if (wait > 0) {
+				return wait;
+			}
+			if (tat.compareAndSet(current, next)) {
+				return 0;
+			}
+		}
+	}
+
+	/**
+	 * Drops buckets that have been full for at least {@code idleNanos}. A full
+	 * bucket behaves exactly like a missing one, so eviction never changes a
+	 * decision.
+	 */
+	public int evictIdle(long nowNanos, long idleNanos) {
+		int before = buckets.size();
+		buckets.values().removeIf(tat -> tat.get() + idleNanos < nowNanos);
+		return before - buckets.size();
+	}
+
+	public int size() {
+		return buckets.size();
+	}
+
+}
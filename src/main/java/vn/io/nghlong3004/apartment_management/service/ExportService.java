@@ -0,0 +1,17 @@
+package vn.io.nghlong3004.apartment_management.service;
+
+import java.io.OutputStream;
+
+import vn.io.nghlong3004.apartment_management.model.ExportFormat;
+
+public interface ExportService {
+
+	long exportFloors(ExportFormat format, OutputStream out);
+
+	long exportRooms(ExportFormat format, OutputStream out);
+
+	long exportRequests(ExportFormat format, OutputStream out);
+
+	long streamFloor(Long floorId, OutputStream out);
+
+}
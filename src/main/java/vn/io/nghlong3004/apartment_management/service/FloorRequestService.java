@@ -10,5 +10,6 @@ public interface FloorRequestService {
 
 	void update(Long requestId, UpdateRequest request);
 
-	PagedResponse<FloorRequestSummary> getRequests(int page, int size, String sort);
+	PagedResponse<FloorRequestSummary> getRequests(int page, int size, String sort, String cursor,
+			boolean withTotal);
 }
@@ -6,6 +6,7 @@ import java.util.Date;
 import org.springframework.security.core.GrantedAuthority;
 
 import io.jsonwebtoken.Claims;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
 
 public interface JWTService {
 
@@ -15,6 +16,8 @@ public interface JWTService {
 
 	void validateOrThrow(String token);
 
+	JwtClaims verify(String token);
+
 	Long getUserId(String token);
 
 	Collection<? extends GrantedAuthority> getAuthorities(String token);
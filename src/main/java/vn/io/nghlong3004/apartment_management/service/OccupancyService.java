@@ -0,0 +1,21 @@
+package vn.io.nghlong3004.apartment_management.service;
+
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.OccupancyResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.ReconcileResponse;
+
+public interface OccupancyService {
+
+	OccupancyResponse getBuildingOccupancy();
+
+	OccupancyResponse getFloorOccupancy(Long floorId);
+
+	ReconcileResponse reconcile();
+
+	void roomsAdded(Long floorId, RoomStatus status, int count);
+
+	void roomRemoved(Long floorId, RoomStatus status);
+
+	void statusChanged(Long floorId, RoomStatus previous, RoomStatus current);
+
+}
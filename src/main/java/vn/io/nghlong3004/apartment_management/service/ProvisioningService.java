@@ -0,0 +1,11 @@
+package vn.io.nghlong3004.apartment_management.service;
+
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateResponse;
+
+public interface ProvisioningService {
+
+	BulkCreateResponse createFloors(int count);
+
+	BulkCreateResponse createRooms(Long floorId, int count);
+
+}
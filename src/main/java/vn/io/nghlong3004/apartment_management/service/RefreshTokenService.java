@@ -12,4 +12,6 @@ public interface RefreshTokenService {
 
 	void verifyExpiration(RefreshToken token);
 
+	int deleteExpiredBatch(int batchSize);
+
 }
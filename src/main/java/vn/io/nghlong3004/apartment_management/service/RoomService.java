@@ -1,6 +1,7 @@
 package vn.io.nghlong3004.apartment_management.service;
 
 import jakarta.validation.constraints.Min;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.Room;
 import vn.io.nghlong3004.apartment_management.model.dto.PagedResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.RoomRequest;
@@ -12,11 +13,14 @@ public interface RoomService {
 
 	RoomResponse getRoomResponse(Long floorId, Long roomId);
 
+	ResourceVersion getRoomVersion(Long floorId, Long roomId);
+
 	void updateRoom(Long floorId, Long roomId, RoomRequest req);
 
 	void deleteRoom(Long floorId, Long roomId);
 
-	PagedResponse<RoomResponse> getRooms(@Min(1) Long floorId, String name, int page, int size, String sort);
+	PagedResponse<RoomResponse> getRooms(@Min(1) Long floorId, String name, int page, int size, String sort,
+			String cursor, boolean withTotal);
 
 	Room getRoom(Long floorId, Long roomId);
 
@@ -0,0 +1,15 @@
+package vn.io.nghlong3004.apartment_management.service;
+
+import java.time.Instant;
+
+public interface TokenRevocationService {
+
+	void revokeAllTokens(Long userId);
+
+	boolean isRevoked(Long userId, Instant issuedAt);
+
+	void sync();
+
+	void rebuild();
+
+}
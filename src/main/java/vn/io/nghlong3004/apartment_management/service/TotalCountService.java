@@ -0,0 +1,17 @@
+package vn.io.nghlong3004.apartment_management.service;
+
+public interface TotalCountService {
+
+	long countFloors();
+
+	long countRooms(Long floorId);
+
+	long countRequests();
+
+	void invalidateFloors();
+
+	void invalidateRooms(Long floorId);
+
+	void invalidateRequests();
+
+}
@@ -2,6 +2,7 @@ package vn.io.nghlong3004.apartment_management.service;
 
 import org.springframework.http.ResponseCookie;
 
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.dto.LoginRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.RegisterRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.Token;
@@ -21,6 +22,8 @@ public interface UserService {
 
 	UserDto getUser(Long id);
 
+	ResourceVersion getUserVersion(Long id);
+
 	void delete(Long id);
 
 }
@@ -1,5 +1,6 @@
 package vn.io.nghlong3004.apartment_management.service.impl;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -7,7 +8,9 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.cache.TopologyIndex;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
 import vn.io.nghlong3004.apartment_management.model.Floor;
 import vn.io.nghlong3004.apartment_management.model.Role;
@@ -21,6 +24,8 @@ import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
 import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
 import vn.io.nghlong3004.apartment_management.repository.UserRepository;
 import vn.io.nghlong3004.apartment_management.service.AdminService;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +38,14 @@ public class AdminServiceImpl implements AdminService {
 
 	private final RoomRepository roomRepository;
 
+	private final TokenRevocationService tokenRevocationService;
+
+	private final OccupancyService occupancyService;
+
+	private final TopologyIndex topologyIndex;
+
+	private final ApplicationEventPublisher eventPublisher;
+
 	@Override
 	@Transactional
 	public void setManager(Long floorId, FloorManagerRequest request) {
@@ -54,6 +67,9 @@ public class AdminServiceImpl implements AdminService {
 		userRepository.update(user);
 
 		floorRepository.updateManager(floorId, user.getId());
+		topologyIndex.managerChanged(floorId, user.getId());
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
+		tokenRevocationService.revokeAllTokens(user.getId());
 
 		log.info("Success update manager by user id: {}", request.userId());
 	}
@@ -80,6 +96,9 @@ public class AdminServiceImpl implements AdminService {
 		userRepository.update(user);
 
 		floorRepository.updateManager(floorId, null);
+		topologyIndex.managerChanged(floorId, null);
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
+		tokenRevocationService.revokeAllTokens(user.getId());
 
 		log.info("Success delete manager id: {}", request.userId());
 	}
@@ -100,7 +119,8 @@ public class AdminServiceImpl implements AdminService {
 
 		room.setUserId(user.getId());
 		room.setStatus(RoomStatus.SOLD);
-		roomRepository.updateRoom(room);
+		occupancyService.statusChanged(room.getFloorId(), roomRepository.updateRoom(room), RoomStatus.SOLD);
+		eventPublisher.publishEvent(new FloorChangedEvent(room.getFloorId()));
 
 		user.setFloorId(room.getFloorId());
 		userRepository.update(user);
@@ -122,7 +142,8 @@ public class AdminServiceImpl implements AdminService {
 		room.setUserId(null);
 		room.setStatus(RoomStatus.AVAILABLE);
 
-		roomRepository.updateRoom(room);
+		occupancyService.statusChanged(room.getFloorId(), roomRepository.updateRoom(room), RoomStatus.AVAILABLE);
+		eventPublisher.publishEvent(new FloorChangedEvent(room.getFloorId()));
 
 		log.info("Success delete owner room with roomId{} for userId: {}", roomId, request.userId());
 
@@ -149,7 +170,8 @@ public class AdminServiceImpl implements AdminService {
 			log.info("Start update old room with ID{} for userId: {}", room.getId(), id);
 			room.setUserId(null);
 			room.setStatus(RoomStatus.AVAILABLE);
-			roomRepository.updateRoom(room);
+			occupancyService.statusChanged(room.getFloorId(), roomRepository.updateRoom(room), RoomStatus.AVAILABLE);
+			eventPublisher.publishEvent(new FloorChangedEvent(room.getFloorId()));
 			log.info("Success update old room with ID{} for userId: {}", room.getId(), id);
 		}
 	}
@@ -0,0 +1,199 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.ExportFormat;
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.FloorRequest;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorRequestSummary;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.FloorRequestRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.service.ExportService;
+
+/**
+ * Full-table exports. Rows come from a MyBatis cursor (server-side fetch in
+ * batches, so the transaction must stay open while writing) and go straight
+ * to the response stream, flushed every chunk-size rows; nothing is
+ * collected in memory.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+	private static final String ROOMS_FIELD = "roomResponses";
+
+	private static final String[] FLOOR_HEADER = { "id", "name", "managerId", "roomCount" };
+	private static final String[] ROOM_HEADER = { "id", "floorId", "userId", "name", "status" };
+	private static final String[] REQUEST_HEADER = { "id", "requesterId", "requesterRoomId", "counterpartId",
+			"counterpartRoomId", "approverId", "status", "closedReason", "created" };
+
+	private final FloorRepository floorRepository;
+	private final RoomRepository roomRepository;
+	private final FloorRequestRepository floorRequestRepository;
+	private final ObjectMapper objectMapper;
+
+	@Value("${apartment.management.export.chunk-size:500}")
+	private int chunkSize;
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportFloors(ExportFormat format, OutputStream out) {
+		return export("floor", format, out, floorRepository::streamAll, Function.identity(), FLOOR_HEADER,
+				floor -> new Object[] { floor.getId(), floor.getName(), floor.getManagerId(), floor.getRoomCount() });
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportRooms(ExportFormat format, OutputStream out) {
+		return export("room", format, out, roomRepository::streamAll, Function.identity(), ROOM_HEADER,
+				room -> new Object[] { room.getId(), room.getFloorId(), room.getUserId(), room.getName(),
+						room.getStatus() });
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportRequests(ExportFormat format, OutputStream out) {
+		return export("floor_request", format, out, floorRequestRepository::streamAll, FloorRequestSummary::from,
+				REQUEST_HEADER,
+				request -> new Object[] { request.getId(), request.getRequesterId(), request.getRequesterRoomId(),
+						request.getCounterpartId(), request.getCounterpartRoomId(), request.getApproverId(),
+						request.getStatus(), request.getClosedReason(), request.getCreated() });
+	}
+
+	/**
+	 * Writes the floor detail JSON with its rooms array filled straight from a
+	 * cursor, so the heap cost does not grow with the number of rooms. The other
+	 * fields come from a {@link FloorResponse} without rooms, serialized by the
+	 * shared mapper, so both floor detail endpoints return the same shape.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long streamFloor(Long floorId, OutputStream out) {
+		long t0 = System.nanoTime();
+		Floor floor = floorRepository.findById(floorId)
+				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND));
+		ObjectNode header = objectMapper.valueToTree(FloorResponse.from(floor, null, null));
+		long rows = 0;
+		try (Cursor<RoomResponse> cursor = roomRepository.streamResponsesByFloorId(floorId);
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.writeStartObject();
+			for (Map.Entry<String, JsonNode> field : header.properties()) {
+				generator.writeFieldName(field.getKey());
+				generator.writeTree(field.getValue());
+			}
+			generator.writeArrayFieldStart(ROOMS_FIELD);
+			for (RoomResponse room : cursor) {
+				generator.writeObject(room);
+				if (++rows % chunkSize == 0) {
+					generator.flush();
+				}
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+			generator.flush();
+		} catch (IOException e) {
+			log.warn("Streaming floorId={} aborted: {}", floorId, e.getMessage());
+			throw new UncheckedIOException(e);
+		}
+		log.info("Streamed floorId={} with {} rooms in {} ms", floorId, rows, (System.nanoTime() - t0) / 1_000_000);
+		return rows;
+	}
+
+	private <E> long export(String resource, ExportFormat format, OutputStream out, Supplier<Cursor<E>> source,
+			Function<E, ?> toDto, String[] header, Function<E, Object[]> toRow) {
+		long t0 = System.nanoTime();
+		long rows;
+		try (Cursor<E> cursor = source.get()) {
+			rows = switch (format) {
+			case NDJSON -> writeNdjson(cursor, toDto, out);
+			case CSV -> writeCsv(cursor, header, toRow, out);
+			};
+		} catch (IOException e) {
+			log.warn("Export of {} aborted: {}", resource, e.getMessage());
+			throw new UncheckedIOException(e);
+		}
+		log.info("Exported {} {} rows as {} in {} ms", rows, resource, format, (System.nanoTime() - t0) / 1_000_000);
+		return rows;
+	}
+
+	private <E> long writeNdjson(Cursor<E> cursor, Function<E, ?> toDto, OutputStream out) throws IOException {
+		long rows = 0;
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			for (E row : cursor) {
+				generator.writeObject(toDto.apply(row));
+				generator.writeRaw('\n');
+				if (++rows % chunkSize == 0) {
+					generator.flush();
+				}
+			}
+			generator.flush();
+		}
+		return rows;
+	}
+
+	private <E> long writeCsv(Cursor<E> cursor, String[] header, Function<E, Object[]> toRow, OutputStream out)
+			throws IOException {
+		long rows = 0;
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writeCsvLine(writer, header);
+		for (E row : cursor) {
+			writeCsvLine(writer, toRow.apply(row));
+			if (++rows % chunkSize == 0) {
+				writer.flush();
+			}
+		}
+		writer.flush();
+		return rows;
+	}
+
+	private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			if (values[i] != null) {
+				writer.write(escapeCsv(values[i].toString()));
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	static String escapeCsv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+}
@@ -1,32 +1,51 @@
 package vn.io.nghlong3004.apartment_management.service.impl;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.cache.TopologyIndex;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
-import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.exception.RetryLaterException;
+import vn.io.nghlong3004.apartment_management.model.ActorContext;
+import vn.io.nghlong3004.apartment_management.model.CreateRequestFacts;
 import vn.io.nghlong3004.apartment_management.model.FloorRequest;
+import vn.io.nghlong3004.apartment_management.model.FloorRequestInsert;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
 import vn.io.nghlong3004.apartment_management.model.RequestStatus;
 import vn.io.nghlong3004.apartment_management.model.Role;
 import vn.io.nghlong3004.apartment_management.model.Room;
 import vn.io.nghlong3004.apartment_management.model.RoomStatus;
-import vn.io.nghlong3004.apartment_management.model.User;
 import vn.io.nghlong3004.apartment_management.model.dto.CreateRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.FloorRequestSummary;
 import vn.io.nghlong3004.apartment_management.model.dto.PagedResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.UpdateRequest;
-import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
 import vn.io.nghlong3004.apartment_management.repository.FloorRequestRepository;
 import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
 import vn.io.nghlong3004.apartment_management.repository.UserRepository;
 import vn.io.nghlong3004.apartment_management.service.FloorRequestService;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
 import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+import vn.io.nghlong3004.apartment_management.util.KeysetPageUtil;
 import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
 
 @Slf4j
@@ -34,10 +53,18 @@ import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
 @RequiredArgsConstructor
 public class FloorRequestServiceImpl implements FloorRequestService {
 
+	private static final Set<String> KEYSET_COLUMNS = Set.of("id", "created", "updated");
+	private static final int MAX_UPDATE_ATTEMPTS = 3;
+
 	private final FloorRequestRepository floorRequestRepository;
-	private final FloorRepository floorRepository;
 	private final RoomRepository roomRepository;
 	private final UserRepository userRepository;
+	private final TotalCountService totalCountService;
+	private final OccupancyService occupancyService;
+	private final TopologyIndex topologyIndex;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
 
 	@Override
 	@Transactional
@@ -49,25 +76,53 @@ public class FloorRequestServiceImpl implements FloorRequestService {
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.MOVE_TO_OWN_ROOM_NOT_ALLOWED);
 		}
 
-		validateUserPermission(request.requesterId(), request.counterpartRoomId());
-		validateRequesterRoom(request.requesterId(), request.requesterRoomId());
-		validateCounterpartRoom(request.counterpartRoomId(), request.counterpartId());
-
-		validateNoActiveRequestsForRequester(request.requesterId());
-		validateNoActiveRequestsForCounterpart(request.requesterId());
-		validateNoActiveRequestsForRequester(request.counterpartId());
-		validateNoActiveRequestsForCounterpart(request.counterpartId());
+		CreateRequestFacts facts = floorRequestRepository.findCreateFacts(request.requesterId(),
+				request.requesterRoomId(), request.counterpartId(), request.counterpartRoomId());
+		validateUserPermission(request.requesterId(), facts);
+		validateRequesterRoom(request.requesterId(), request.requesterRoomId(), facts);
+		validateCounterpartRoom(request.counterpartRoomId(), request.counterpartId(), facts);
+		validateNoActiveRequests(facts);
 
 		FloorRequest floorRequest = FloorRequest.of(request);
-		floorRequestRepository.insert(floorRequest);
+		insertActive(floorRequest);
+		totalCountService.invalidateRequests();
 
 		log.info("Successfully created request with requesterId={}, counterpartRoomId={}", request.requesterId(),
 				request.counterpartRoomId());
 	}
 
 	@Override
-	@Transactional
 	public void update(Long floorRequestId, UpdateRequest request) {
+		for (int attempt = 1;; ++attempt) {
+			try {
+				transactionTemplate.executeWithoutResult(status -> applyUpdate(floorRequestId, request));
+				return;
+			} catch (ConcurrencyFailureException e) {
+				String cause = conflictCause(e);
+				meterRegistry.counter("floor_request.update.conflict", "cause", cause).increment();
+				if (attempt == MAX_UPDATE_ATTEMPTS) {
+					log.warn("Update of request {} gave up after {} attempts: {}", floorRequestId, attempt, cause);
+					throw new RetryLaterException(HttpStatus.CONFLICT, ErrorMessageConstant.REQUEST_BUSY, 1);
+				}
+				meterRegistry.counter("floor_request.update.retry", "cause", cause).increment();
+				log.info("Update of request {} rolled back ({}), retrying", floorRequestId, cause);
+			}
+		}
+	}
+
+	private static String conflictCause(ConcurrencyFailureException e) {
+		if (e instanceof OptimisticLockingFailureException) {
+			return "version";
+		}
+		return e instanceof CannotAcquireLockException ? "lock_timeout" : "deadlock";
+	}
+
+	/**
+	 * One attempt at a status change. The request is read without a lock and
+	 * written back only if its version is unchanged, so a concurrent transition
+	 * rolls this attempt back and the retry re-checks against the new status.
+	 */
+	private void applyUpdate(Long floorRequestId, UpdateRequest request) {
 		log.info("Update request {} -> {}", floorRequestId, request.status());
 
 		FloorRequest floorRequest = floorRequestRepository.findById(floorRequestId)
@@ -99,23 +154,69 @@ public class FloorRequestServiceImpl implements FloorRequestService {
 		}
 		default -> throw new ResourceException(HttpStatus.BAD_REQUEST, "Unsupported status: " + request.status());
 		}
-		floorRequestRepository.update(floorRequest);
+		if (floorRequestRepository.update(floorRequest) == 0) {
+			throw new OptimisticLockingFailureException("Request " + floorRequestId + " changed concurrently");
+		}
 		log.info("Updated request {} to status {}", floorRequestId, floorRequest.getStatus());
 	}
 
+	/**
+	 * Gives the requester's room to the counterpart and the counterpart's room
+	 * to the requester. Rooms and then users are locked in id order before
+	 * anything is written, and both rooms are written by one statement.
+	 */
 	private void performDomainActionOnApprove(FloorRequest floorRequest) {
-		log.info("Start change user{} -> room{}", floorRequest.getCounterpartId(), floorRequest.getRequesterRoomId());
-		changeRoomOwner(floorRequest.getRequesterRoomId(), floorRequest.getCounterpartId());
-		log.info("Success change user{} -> room{}", floorRequest.getCounterpartId(), floorRequest.getRequesterRoomId());
-		log.info("Start change user{} -> room{}", floorRequest.getRequesterId(), floorRequest.getCounterpartRoomId());
-		changeRoomOwner(floorRequest.getCounterpartRoomId(), floorRequest.getRequesterId());
-		log.info("Success change user{} -> room{}", floorRequest.getRequesterId(), floorRequest.getCounterpartRoomId());
+		Map<Long, Long> newOwners = new HashMap<>();
+		if (floorRequest.getRequesterRoomId() != null) {
+			newOwners.put(floorRequest.getRequesterRoomId(), floorRequest.getCounterpartId());
+		}
+		if (floorRequest.getCounterpartRoomId() != null) {
+			newOwners.put(floorRequest.getCounterpartRoomId(), floorRequest.getRequesterId());
+		}
+		if (newOwners.isEmpty()) {
+			return;
+		}
+		log.info("Start swapping rooms {} for request {}", newOwners, floorRequest.getId());
+
+		List<Room> rooms = roomRepository.lockByIds(newOwners.keySet().stream().sorted().toList());
+		if (rooms.size() != newOwners.size()) {
+			throw new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ROOM_NOT_FOUND);
+		}
+		List<Long> ownerIds = newOwners.values().stream().filter(Objects::nonNull).distinct().sorted().toList();
+		if (!ownerIds.isEmpty() && userRepository.lockByIds(ownerIds).size() != ownerIds.size()) {
+			throw new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ID_NOT_FOUND);
+		}
+
+		Map<Long, RoomStatus> previousStatuses = new HashMap<>();
+		for (Room room : rooms) {
+			Long ownerId = newOwners.get(room.getId());
+			previousStatuses.put(room.getId(), room.getStatus());
+			room.setUserId(ownerId);
+			if (ownerId == null) {
+				room.setStatus(RoomStatus.AVAILABLE);
+			} else if (room.getStatus() == RoomStatus.AVAILABLE) {
+				room.setStatus(RoomStatus.SOLD);
+			}
+		}
+		roomRepository.reassignOwners(rooms);
+
+		// Occupancy rows are locked per floor; going through floors in id order keeps two swaps from crossing.
+		rooms.stream().sorted(Comparator.comparing(Room::getFloorId)).forEach(room -> {
+			eventPublisher.publishEvent(new FloorChangedEvent(room.getFloorId()));
+			occupancyService.statusChanged(room.getFloorId(), previousStatuses.get(room.getId()), room.getStatus());
+		});
+		log.info("Success swapping rooms {} for request {}", newOwners, floorRequest.getId());
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public PagedResponse<FloorRequestSummary> getRequests(int page, int size, String sort) {
-		log.info("Listing requests page={}, size={}, sort={}", page, size, sort);
+	public PagedResponse<FloorRequestSummary> getRequests(int page, int size, String sort, String cursor,
+			boolean withTotal) {
+		log.info("Listing requests page={}, size={}, sort={}, cursor={}, withTotal={}", page, size, sort, cursor,
+				withTotal);
+		if (cursor != null && !cursor.isBlank()) {
+			return getRequestsByCursor(cursor, size, withTotal);
+		}
 
 		long t0 = System.nanoTime();
 		int safePage = Math.max(page, 0);
@@ -123,45 +224,64 @@ public class FloorRequestServiceImpl implements FloorRequestService {
 		int offset = safePage * safeSize;
 		String orderBy = HelperUtil.normalizeSort(sort);
 
-		long total = floorRequestRepository.countAll();
-		List<FloorRequest> rows = total == 0 ? List.of() : floorRequestRepository.findPage(orderBy, safeSize, offset);
+		Long total = withTotal ? totalCountService.countRequests() : null;
+		List<FloorRequest> rows = floorRequestRepository.findPage(orderBy, safeSize + 1, offset);
+		boolean hasNext = rows.size() > safeSize;
+		List<FloorRequest> requests = hasNext ? rows.subList(0, safeSize) : rows;
 
-		List<FloorRequestSummary> content = rows.stream().map(FloorRequestSummary::from).toList();
+		List<FloorRequestSummary> content = requests.stream().map(FloorRequestSummary::from).toList();
 
-		int totalPages = (int) Math.ceil(total / (double) safeSize);
+		Integer totalPages = HelperUtil.totalPages(total, safeSize);
 
 		log.debug("Requests(list) -> fetched={}, total={}, timeMs={}", content.size(), total,
 				(System.nanoTime() - t0) / 1_000_000.0);
 
+		PageCursor start = PageCursor.start(orderBy, KEYSET_COLUMNS);
+		String next = KeysetPageUtil.next(requests, start, hasNext, request -> sortValue(request, start.column()),
+				FloorRequest::getId);
+		String prev = KeysetPageUtil.prev(requests, start, safePage > 0,
+				request -> sortValue(request, start.column()), FloorRequest::getId);
+
 		return PagedResponse.<FloorRequestSummary>builder().content(content).page(safePage).size(safeSize)
-				.totalElements(total).totalPages(Math.max(totalPages, 1)).build();
+				.totalElements(total).totalPages(totalPages).hasNext(hasNext).next(next).prev(prev).build();
 	}
 
-	private void changeRoomOwner(Long roomId, Long newOwnerRoomId) {
-		if (roomId == null) {
-			return;
-		}
-		Room room = roomRepository.findById(roomId)
-				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ROOM_NOT_FOUND));
-		room.setUserId(newOwnerRoomId);
-		if (room.getStatus() == RoomStatus.AVAILABLE) {
-			room.setStatus(RoomStatus.SOLD);
-		}
-		if (newOwnerRoomId == null) {
-			room.setStatus(RoomStatus.AVAILABLE);
-			roomRepository.updateRoom(room);
-			return;
-		}
-		roomRepository.updateRoom(room);
-		User user = userRepository.findById(newOwnerRoomId)
-				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ID_NOT_FOUND));
-		user.setFloorId(room.getFloorId());
-		userRepository.update(user);
+	private PagedResponse<FloorRequestSummary> getRequestsByCursor(String token, int size, boolean withTotal) {
+		long t0 = System.nanoTime();
+		int safeSize = Math.max(size, 1);
+		PageCursor cursor = PageCursor.decode(token, KEYSET_COLUMNS);
+
+		List<FloorRequest> rows = floorRequestRepository.findPageByCursor(cursor, safeSize + 1);
+		List<FloorRequest> requests = KeysetPageUtil.page(rows, cursor, safeSize);
+		List<FloorRequestSummary> content = requests.stream().map(FloorRequestSummary::from).toList();
+
+		Long total = withTotal ? totalCountService.countRequests() : null;
+		boolean hasNext = KeysetPageUtil.hasNext(rows.size(), cursor, safeSize);
+
+		String next = KeysetPageUtil.next(requests, cursor, hasNext, request -> sortValue(request, cursor.column()),
+				FloorRequest::getId);
+		String prev = KeysetPageUtil.prev(requests, cursor, KeysetPageUtil.hasPrev(rows.size(), cursor, safeSize),
+				request -> sortValue(request, cursor.column()), FloorRequest::getId);
+
+		log.debug("Requests(cursor) -> fetched={}, total={}, timeMs={}", content.size(), total,
+				(System.nanoTime() - t0) / 1_000_000.0);
+
+		return PagedResponse.<FloorRequestSummary>builder().content(content).page(0).size(safeSize)
+				.totalElements(total).totalPages(HelperUtil.totalPages(total, safeSize)).hasNext(hasNext).next(next)
+				.prev(prev).build();
+	}
+
+	private static String sortValue(FloorRequest request, String column) {
+		return switch (column) {
+		case "created" -> String.valueOf(request.getCreated());
+		case "updated" -> String.valueOf(request.getUpdated());
+		default -> String.valueOf(request.getId());
+		};
 	}
 
 	private void assertCanApprove(FloorRequest floorRequest) {
 		if (!isAdmin() && !isManager(floorRequest.getCounterpartRoomId())
-				&& !isManager(floorRequest.getRequesterId())) {
+				&& !isManager(floorRequest.getRequesterRoomId())) {
 			throw new ResourceException(HttpStatus.FORBIDDEN, ErrorMessageConstant.ACTION_FORBIDDEN);
 		}
 		if (floorRequest.getStatus() != RequestStatus.ACCEPTED && floorRequest.getCounterpartId() != null) {
@@ -171,7 +291,7 @@ public class FloorRequestServiceImpl implements FloorRequestService {
 
 	private void assertCanReject(FloorRequest floorRequest) {
 		if (!isAdmin() && !isManager(floorRequest.getCounterpartRoomId())
-				&& !isManager(floorRequest.getRequesterId())) {
+				&& !isManager(floorRequest.getRequesterRoomId())) {
 			throw new ResourceException(HttpStatus.FORBIDDEN, ErrorMessageConstant.ACTION_FORBIDDEN);
 		}
 		if (floorRequest.getStatus() != RequestStatus.ACCEPTED && floorRequest.getStatus() != RequestStatus.PENDING) {
@@ -236,57 +356,73 @@ public class FloorRequestServiceImpl implements FloorRequestService {
 			floorRequest.setApproverId(getUserId());
 	}
 
-	private void validateUserPermission(Long requesterId, Long roomId) {
+	private void validateUserPermission(Long requesterId, CreateRequestFacts facts) {
 		log.info("Validating user permission requestId={}", requesterId);
-		if (!isAdmin() && !isSelf(requesterId) && !isManager(roomId)) {
+		if (!isAdmin() && !isSelf(requesterId) && !managesCounterpartRoom(facts)) {
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.FORBIDDEN);
 		}
 	}
 
-	private void validateRequesterRoom(Long requesterId, Long requesterRoomId) {
+	private void validateRequesterRoom(Long requesterId, Long requesterRoomId, CreateRequestFacts facts) {
 		log.info("Validating requester roomId={} requesterId={} ", requesterRoomId, requesterId);
-		Room room = roomRepository.findById(requesterId).orElse(null);
-
-		if (room != null) {
-			if (room.getUserId() != requesterId) {
-				throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_OWNER_MISMATCH);
-			}
+		if (!facts.requesterOwnsRoom()) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_OWNER_MISMATCH);
 		}
-
 	}
 
-	private void validateNoActiveRequestsForRequester(Long requesterId) {
-		if (floorRequestRepository.existsActiveByRequesterId(requesterId)) {
+	// The same-role cases are enforced by the unique indexes behind insertActive.
+	private void validateNoActiveRequests(CreateRequestFacts facts) {
+		if (facts.requesterActiveAsCounterpart()) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST,
+					ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_COUNTERPART);
+		}
+		if (facts.counterpartActiveAsRequester()) {
 			throw new ResourceException(HttpStatus.BAD_REQUEST,
 					ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_REQUESTER);
 		}
 	}
 
-	private void validateNoActiveRequestsForCounterpart(Long counterpartId) {
-		if (floorRequestRepository.existsActiveByCounterpartId(counterpartId)) {
-			throw new ResourceException(HttpStatus.BAD_REQUEST,
-					ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_COUNTERPART);
+	private void insertActive(FloorRequest floorRequest) {
+		for (int attempt = 0; attempt < 2; ++attempt) {
+			FloorRequestInsert result = floorRequestRepository.insert(floorRequest);
+			if (result.inserted()) {
+				floorRequest.setId(result.id());
+				return;
+			}
+			if (result.requesterConflict()) {
+				throw new ResourceException(HttpStatus.BAD_REQUEST,
+						ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_REQUESTER);
+			}
+			if (result.counterpartConflict()) {
+				throw new ResourceException(HttpStatus.BAD_REQUEST,
+						ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_COUNTERPART);
+			}
+			// The conflicting request committed after this statement's snapshot; the next attempt can see it.
+			log.debug("Insert of request by requesterId={} raced a concurrent create, retrying",
+					floorRequest.getRequesterId());
 		}
+		throw new ResourceException(HttpStatus.CONFLICT, ErrorMessageConstant.DATA_CONFLICT);
 	}
 
-	private void validateCounterpartRoom(Long counterpartRoomId, Long counterpartId) {
+	private void validateCounterpartRoom(Long counterpartRoomId, Long counterpartId, CreateRequestFacts facts) {
 		log.debug("Validating counterpart roomId={} counterpartId={}", counterpartRoomId, counterpartId);
 
-		Room room = roomRepository.findById(counterpartRoomId).orElseThrow(() -> {
+		if (!facts.counterpartRoomExists()) {
 			log.error("Room not found: counterpartRoomId={}", counterpartRoomId);
-			return new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_FOUND);
-		});
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_FOUND);
+		}
 
 		if (counterpartId == null) {
-			if (room.getStatus() != RoomStatus.AVAILABLE) {
+			if (facts.counterpartRoomStatus() != RoomStatus.AVAILABLE) {
 				throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_AVAILABLE);
 			}
 			counterpartId = 0L;
 		}
 
-		if (room.getUserId() != null && !counterpartId.equals(room.getUserId())) {
+		Long ownerId = facts.counterpartRoomOwnerId();
+		if (ownerId != null && !counterpartId.equals(ownerId)) {
 			log.warn("Room owner mismatch: roomId={}, expectedUserId={}, actualUserId={}", counterpartRoomId,
-					counterpartId, room.getUserId());
+					counterpartId, ownerId);
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_OWNER_MISMATCH);
 		}
 
@@ -294,28 +430,44 @@ public class FloorRequestServiceImpl implements FloorRequestService {
 	}
 
 	private boolean isAdmin() {
-		return SecurityUtil.hasRole(Role.ADMIN.name());
+		return SecurityUtil.currentActor().isAdmin();
 	}
 
 	private boolean isManager(Long roomId) {
-		Room room = roomRepository.findById(roomId)
-				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_FOUND));
-		Floor floor = floorRepository.findById(room.getFloorId())
-				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.FLOOR_NOT_FOUND));
-		Long managerId = getUserId();
-		return SecurityUtil.hasRole(Role.MANAGER.name()) && floor.getManagerId().equals(managerId);
+		ActorContext actor = SecurityUtil.currentActor();
+		if (roomId == null || !actor.hasRole(Role.MANAGER)) {
+			return false;
+		}
+		long floorId = topologyIndex.floorOfRoom(roomId);
+		if (floorId == TopologyIndex.NONE) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_FOUND);
+		}
+		return actor.managesFloor(floorId, topologyIndex::managerOfFloor);
+	}
+
+	private boolean managesCounterpartRoom(CreateRequestFacts facts) {
+		ActorContext actor = SecurityUtil.currentActor();
+		if (!actor.hasRole(Role.MANAGER)) {
+			return false;
+		}
+		if (!facts.counterpartRoomExists()) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_FOUND);
+		}
+		Long managerId = facts.counterpartFloorManagerId();
+		return actor.managesFloor(facts.counterpartFloorId(),
+				floorId -> managerId == null ? TopologyIndex.NONE : managerId);
 	}
 
 	private boolean isSelf(Long id) {
-		Long actorId = getUserId();
-		return actorId != null && actorId.equals(id);
+		return SecurityUtil.currentActor().isSelf(id);
 	}
 
 	private Long getUserId() {
-		Long actorId = SecurityUtil.getCurrentUserId().orElseThrow(() -> {
+		Long actorId = SecurityUtil.currentActor().userId();
+		if (actorId == null) {
 			log.error("Actor ID not found in security context");
-			return new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND);
-		});
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND);
+		}
 		return actorId;
 	}
 
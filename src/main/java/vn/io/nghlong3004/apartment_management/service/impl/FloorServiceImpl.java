@@ -1,8 +1,10 @@
 package vn.io.nghlong3004.apartment_management.service.impl;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,37 +12,59 @@ import org.springframework.util.StopWatch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.cache.FloorDetailCache;
+import vn.io.nghlong3004.apartment_management.cache.TopologyIndex;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
 import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.FloorSummary;
 import vn.io.nghlong3004.apartment_management.model.dto.PagedResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
 import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
 import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
 import vn.io.nghlong3004.apartment_management.service.FloorService;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
 import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+import vn.io.nghlong3004.apartment_management.util.KeysetPageUtil;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FloorServiceImpl implements FloorService {
 
+	private static final Set<String> KEYSET_COLUMNS = Set.of("id", "name", "room_count", "created", "updated");
+
+	private static final PageCursor ROOMS_BY_ID = PageCursor.start("id ASC", Set.of("id"));
+
 	private final FloorRepository floorRepository;
 	private final RoomRepository roomRepository;
+	private final FloorDetailCache floorDetailCache;
+	private final TopologyIndex topologyIndex;
+	private final TotalCountService totalCountService;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Value("${apartment.management.floor.max-number}")
 	private long maxFloorNumber;
 
+	@Value("${apartment.management.floor.detail-room-page-size:50}")
+	private int detailRoomPageSize;
+
+	// Not @Transactional: a cache hit must not borrow a connection.
 	@Override
-	@Transactional(readOnly = true)
-	public FloorResponse getFloorWithRooms(Long floorId) {
-		log.info("Retrieving floor details for floorId={}", floorId);
+	public FloorResponse getFloorWithRooms(Long floorId, long version) {
+		log.info("Retrieving floor details for floorId={}, version={}", floorId, version);
 
-		Floor floor = floorRepository.findById(floorId)
-				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND));
+		return floorDetailCache.get(floorId, version, this::loadFloorWithRooms);
+	}
 
-		return FloorResponse.from(floor, roomRepository.findAllRoomsByFloorId(floorId));
+	@Override
+	public ResourceVersion getFloorVersion(Long floorId) {
+		return floorRepository.findVersionById(floorId)
+				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND));
 	}
 
 	@Override
@@ -51,6 +75,10 @@ public class FloorServiceImpl implements FloorService {
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.FLOOR_NOT_FOUND);
 		}
 		floorRepository.deleteById(floorId);
+		topologyIndex.floorRemoved(floorId);
+		totalCountService.invalidateFloors();
+		totalCountService.invalidateRooms(floorId);
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
 
 		log.debug("Floor deleted: floorId={}", floorId);
 	}
@@ -59,24 +87,46 @@ public class FloorServiceImpl implements FloorService {
 	@Transactional
 	public void createFloor() {
 		log.info("Creating floor");
-		long floorNumber = floorRepository.countAll() + 1;
+		long floorNumber = floorRepository.allocateFloorNumbers(1).get(0);
 		validateFloorNumber(floorNumber);
 
-		Floor floor = Floor.builder().name(HelperUtil.generateFloorName(floorNumber)).roomCount(0).build();
+		Floor floor = Floor.builder().name(HelperUtil.generateFloorName(floorNumber)).number((int) floorNumber)
+				.roomCount(0).build();
 		floorRepository.insert(floor);
+		totalCountService.invalidateFloors();
+		eventPublisher.publishEvent(new FloorChangedEvent(floor.getId()));
 
 		log.info("Floor created successfully id={}", floor.getId());
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public PagedResponse<FloorSummary> getFloors(String name, int page, int size, String sort) {
-		log.info("Floors query: name='{}', page={}, size={}, sort={}", name, page, size, sort);
+	public PagedResponse<FloorSummary> getFloors(String name, int page, int size, String sort, String cursor,
+			boolean withTotal) {
+		log.info("Floors query: name='{}', page={}, size={}, sort={}, cursor={}, withTotal={}", name, page, size, sort,
+				cursor, withTotal);
 
 		if (name != null && !name.isBlank()) {
 			return getFloorByName(name);
 		}
-		return listFloors(page, size, sort);
+		if (cursor != null && !cursor.isBlank()) {
+			return listFloorsByCursor(cursor, size, withTotal);
+		}
+		return listFloors(page, size, sort, withTotal);
+	}
+
+	private FloorResponse loadFloorWithRooms(Long floorId) {
+		log.debug("Floor detail cache miss for floorId={}", floorId);
+		Floor floor = floorRepository.findById(floorId)
+				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND));
+
+		List<RoomResponse> rows = roomRepository.findFirstResponsesByFloorId(floorId, detailRoomPageSize + 1);
+		boolean hasNext = rows.size() > detailRoomPageSize;
+		List<RoomResponse> rooms = hasNext ? rows.subList(0, detailRoomPageSize) : rows;
+		String next = KeysetPageUtil.next(rooms, ROOMS_BY_ID, hasNext, room -> String.valueOf(room.getId()),
+				RoomResponse::getId);
+
+		return FloorResponse.from(floor, List.copyOf(rooms), next);
 	}
 
 	private PagedResponse<FloorSummary> getFloorByName(String currentName) {
@@ -84,18 +134,16 @@ public class FloorServiceImpl implements FloorService {
 		stopWatch.start();
 		final String name = currentName.trim();
 		log.info("Start retrieving floor by name: {}", name);
-		Floor floor = floorRepository.findByName(name)
+		FloorSummary one = floorRepository.findSummaryByName(name)
 				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND));
 
-		FloorSummary one = FloorSummary.from(floor);
-
 		stopWatch.stop();
 		log.info("Successfully fetched floor by name='{}'  elapsedMs={}", name, stopWatch.getTotalTimeMillis());
-		return PagedResponse.<FloorSummary>builder().content(List.of(one)).page(0).size(1).totalElements(1)
+		return PagedResponse.<FloorSummary>builder().content(List.of(one)).page(0).size(1).totalElements(1L)
 				.totalPages(1).build();
 	}
 
-	private PagedResponse<FloorSummary> listFloors(int page, int size, String sort) {
+	private PagedResponse<FloorSummary> listFloors(int page, int size, String sort, boolean withTotal) {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
 		log.info("Listing floors page={}, size={}, sort={}", page, size, sort);
@@ -104,18 +152,63 @@ public class FloorServiceImpl implements FloorService {
 		int offset = safePage * safeSize;
 		String orderBy = HelperUtil.normalizeSort(sort);
 
-		long total = floorRepository.countAll();
-		List<Floor> rows = total == 0 ? List.of() : floorRepository.findPage(orderBy, safeSize, offset);
+		Long total = withTotal ? totalCountService.countFloors() : null;
+		List<Floor> rows = floorRepository.findPage(orderBy, safeSize + 1, offset);
+		boolean hasNext = rows.size() > safeSize;
+		List<Floor> floors = hasNext ? rows.subList(0, safeSize) : rows;
 
-		List<FloorSummary> content = rows.stream().map(FloorSummary::from).toList();
+		List<FloorSummary> content = floors.stream().map(FloorSummary::from).toList();
 
-		int totalPages = (int) Math.ceil(total / (double) safeSize);
+		Integer totalPages = HelperUtil.totalPages(total, safeSize);
+
+		PageCursor start = PageCursor.start(orderBy, KEYSET_COLUMNS);
+		String next = KeysetPageUtil.next(floors, start, hasNext, floor -> sortValue(floor, start.column()),
+				Floor::getId);
+		String prev = KeysetPageUtil.prev(floors, start, safePage > 0, floor -> sortValue(floor, start.column()),
+				Floor::getId);
 
 		stopWatch.stop();
 		log.info("Successfully fetched {} floors (of total={}) for totalPages={}, Elapsed time={} ms", content.size(),
 				total, totalPages, stopWatch.getTotalTimeMillis());
 		return PagedResponse.<FloorSummary>builder().content(content).page(safePage).size(safeSize).totalElements(total)
-				.totalPages(Math.max(totalPages, 1)).build();
+				.totalPages(totalPages).hasNext(hasNext).next(next).prev(prev).build();
+	}
+
+	private PagedResponse<FloorSummary> listFloorsByCursor(String token, int size, boolean withTotal) {
+		StopWatch stopWatch = new StopWatch();
+		stopWatch.start();
+		int safeSize = Math.max(size, 1);
+		PageCursor cursor = PageCursor.decode(token, KEYSET_COLUMNS);
+		log.info("Listing floors by cursor column={}, backward={}, size={}", cursor.column(), cursor.backward(),
+				safeSize);
+
+		List<Floor> rows = floorRepository.findPageByCursor(cursor, safeSize + 1);
+		List<Floor> floors = KeysetPageUtil.page(rows, cursor, safeSize);
+		List<FloorSummary> content = floors.stream().map(FloorSummary::from).toList();
+
+		Long total = withTotal ? totalCountService.countFloors() : null;
+		boolean hasNext = KeysetPageUtil.hasNext(rows.size(), cursor, safeSize);
+
+		String next = KeysetPageUtil.next(floors, cursor, hasNext, floor -> sortValue(floor, cursor.column()),
+				Floor::getId);
+		String prev = KeysetPageUtil.prev(floors, cursor, KeysetPageUtil.hasPrev(rows.size(), cursor, safeSize),
+				floor -> sortValue(floor, cursor.column()), Floor::getId);
+
+		stopWatch.stop();
+		log.info("Successfully fetched {} floors by cursor, Elapsed time={} ms", content.size(),
+				stopWatch.getTotalTimeMillis());
+		return PagedResponse.<FloorSummary>builder().content(content).page(0).size(safeSize).totalElements(total)
+				.totalPages(HelperUtil.totalPages(total, safeSize)).hasNext(hasNext).next(next).prev(prev).build();
+	}
+
+	private static String sortValue(Floor floor, String column) {
+		return switch (column) {
+		case "name" -> floor.getName();
+		case "room_count" -> String.valueOf(floor.getRoomCount());
+		case "created" -> String.valueOf(floor.getCreated());
+		case "updated" -> String.valueOf(floor.getUpdated());
+		default -> String.valueOf(floor.getId());
+		};
 	}
 
 	private void validateFloorNumber(long floorNumber) {
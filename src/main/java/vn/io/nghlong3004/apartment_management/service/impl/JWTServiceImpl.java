@@ -1,31 +1,36 @@
 package vn.io.nghlong3004.apartment_management.service.impl;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
-import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
 import vn.io.nghlong3004.apartment_management.service.JWTService;
+import vn.io.nghlong3004.apartment_management.util.DigestUtil;
 
 @Service
 @Slf4j
@@ -43,9 +48,19 @@ public class JWTServiceImpl implements JWTService {
 	@Value("${jwt.clock-skew-seconds:60}")
 	private long clockSkewSeconds;
 
+	@Value("${jwt.verified-cache.max-size:10000}")
+	private long verifiedCacheMaxSize;
+
 	private SecretKey secretKey;
 	private JwtParser parser;
 
+	/**
+	 * Recently verified tokens keyed by the SHA-256 of the compact token, so the
+	 * raw bearer string is never retained. Each entry lives until the token itself
+	 * expires.
+	 */
+	private Cache<String, JwtClaims> verifiedTokens;
+
 	@PostConstruct
 	void init() {
 		byte[] keyBytes = jwtSecretKey.getBytes(StandardCharsets.UTF_8);
@@ -55,7 +70,10 @@ public class JWTServiceImpl implements JWTService {
 		this.secretKey = Keys.hmacShaKeyFor(keyBytes);
 		this.parser = Jwts.parser().requireIssuer(issuer).clockSkewSeconds(clockSkewSeconds).verifyWith(secretKey)
 				.build();
-		log.info("JWTService initialized. issuer={}, clockSkewSeconds={}", issuer, clockSkewSeconds);
+		this.verifiedTokens = Caffeine.newBuilder().maximumSize(verifiedCacheMaxSize).expireAfter(new UntilTokenExpiry())
+				.build();
+		log.info("JWTService initialized. issuer={}, clockSkewSeconds={}, verifiedCacheMaxSize={}", issuer,
+				clockSkewSeconds, verifiedCacheMaxSize);
 	}
 
 	@Override
@@ -88,30 +106,34 @@ public class JWTServiceImpl implements JWTService {
 	}
 
 	@Override
-	public Long getUserId(String token) {
-		Claims c = parseClaimsOrThrow(token);
-		String sub = c.getSubject();
-		if (sub == null) {
-			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_ACCESS_TOKEN);
+	public JwtClaims verify(String token) throws JwtException {
+		String key = DigestUtil.sha256Hex(token);
+		JwtClaims cached = verifiedTokens.getIfPresent(key);
+		if (cached != null && cached.expiration().isAfter(Instant.now())) {
+			return cached;
 		}
-		try {
-			return Long.valueOf(sub);
-		} catch (NumberFormatException e) {
-			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_ACCESS_TOKEN);
+
+		JwtClaims claims = toJwtClaims(parseClaimsOrThrow(token));
+		if (claims.expiration() != null && claims.expiration().isAfter(Instant.now())) {
+			verifiedTokens.put(key, claims);
 		}
+		return claims;
+	}
+
+	@Override
+	public Long getUserId(String token) {
+		return verify(token).userId();
 	}
 
 	@Override
 	public Collection<? extends GrantedAuthority> getAuthorities(String token) {
-		Claims c = parseClaimsOrThrow(token);
-		List<String> roles = extractRoles(c);
-		return roles.stream().map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r).map(SimpleGrantedAuthority::new)
-				.collect(Collectors.toUnmodifiableList());
+		return verify(token).authorities();
 	}
 
 	@Override
 	public Date getExpiration(String token) {
-		return parseClaimsOrThrow(token).getExpiration();
+		Instant expiration = verify(token).expiration();
+		return expiration == null ? null : Date.from(expiration);
 	}
 
 	@Override
@@ -128,6 +150,21 @@ public class JWTServiceImpl implements JWTService {
 		return jws.getPayload();
 	}
 
+	private JwtClaims toJwtClaims(Claims claims) {
+		Long userId;
+		try {
+			userId = Long.valueOf(claims.getSubject());
+		} catch (NumberFormatException e) {
+			throw new MalformedJwtException(ErrorMessageConstant.INVALID_ACCESS_TOKEN);
+		}
+		List<String> roles = extractRoles(claims);
+		List<GrantedAuthority> authorities = roles.stream().map(r -> r.startsWith("ROLE_") ? r : "ROLE_" + r)
+				.<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+		Instant issuedAt = claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant();
+		Instant expiration = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+		return new JwtClaims(userId, roles, authorities, issuedAt, expiration);
+	}
+
 	private List<String> normalizeRoles(Object role) {
 		if (role == null)
 			return List.of();
@@ -155,4 +192,22 @@ public class JWTServiceImpl implements JWTService {
 		}
 		return List.of(String.valueOf(raw));
 	}
+
+	private static final class UntilTokenExpiry implements Expiry<String, JwtClaims> {
+
+		@Override
+		public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+			return Math.max(0, (claims.expiration().toEpochMilli() - System.currentTimeMillis()) * 1_000_000L);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, claims, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
 }
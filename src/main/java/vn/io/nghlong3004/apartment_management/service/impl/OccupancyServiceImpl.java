@@ -0,0 +1,86 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.OccupancyResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.ReconcileResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.OccupancyRepository;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
+
+/**
+ * Reads and maintains the floor_occupancy counters. The maintenance methods
+ * join the caller's transaction, so a counter only moves together with the
+ * room row it describes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OccupancyServiceImpl implements OccupancyService {
+
+	private final OccupancyRepository occupancyRepository;
+
+	private final FloorRepository floorRepository;
+
+	@Override
+	@Transactional(readOnly = true)
+	public OccupancyResponse getBuildingOccupancy() {
+		return OccupancyResponse.from(null, occupancyRepository.sumByStatus());
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public OccupancyResponse getFloorOccupancy(Long floorId) {
+		if (!floorRepository.floorExists(floorId).orElse(false)) {
+			throw new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND);
+		}
+		return OccupancyResponse.from(floorId, occupancyRepository.findByFloorId(floorId));
+	}
+
+	@Override
+	@Transactional
+	public ReconcileResponse reconcile() {
+		long t0 = System.nanoTime();
+		occupancyRepository.lockForRebuild();
+		int corrected = occupancyRepository.rebuild();
+		long elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+
+		if (corrected > 0) {
+			log.warn("Occupancy reconcile corrected {} counters in {} ms", corrected, elapsedMs);
+		} else {
+			log.info("Occupancy reconcile found no drift in {} ms", elapsedMs);
+		}
+		return new ReconcileResponse(corrected, elapsedMs);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void roomsAdded(Long floorId, RoomStatus status, int count) {
+		occupancyRepository.adjust(floorId, status, count);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void roomRemoved(Long floorId, RoomStatus status) {
+		if (status != null) {
+			occupancyRepository.adjust(floorId, status, -1);
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void statusChanged(Long floorId, RoomStatus previous, RoomStatus current) {
+		if (previous != null && previous != current) {
+			occupancyRepository.move(floorId, previous, current);
+		}
+	}
+
+}
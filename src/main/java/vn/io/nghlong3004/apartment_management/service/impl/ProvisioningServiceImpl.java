@@ -0,0 +1,146 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomNumberRange;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.OccupancyRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.service.ProvisioningService;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
+import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+
+/**
+ * Bulk floor and room creation. Inserts go through a BATCH-executor session
+ * and are sent as JDBC batches on flush; everything runs in one transaction
+ * and numbers (with room_count) are reserved once per call. All statements in a bulk call
+ * must use the batch session, since MyBatis cannot switch executor type
+ * inside a transaction.
+ */
+@Slf4j
+@Service
+public class ProvisioningServiceImpl implements ProvisioningService {
+
+	private final SqlSessionTemplate batchSession;
+	private final TotalCountService totalCountService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${apartment.management.floor.max-number}")
+	private long maxFloorNumber;
+
+	@Value("${apartment.management.room.max-number}")
+	private long maxRoomNumber;
+
+	@Autowired
+	public ProvisioningServiceImpl(SqlSessionFactory sqlSessionFactory, TotalCountService totalCountService,
+			ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+		this(new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH), totalCountService, eventPublisher,
+				meterRegistry);
+	}
+
+	ProvisioningServiceImpl(SqlSessionTemplate batchSession, TotalCountService totalCountService,
+			ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+		this.batchSession = batchSession;
+		this.totalCountService = totalCountService;
+		this.eventPublisher = eventPublisher;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	@Transactional
+	public BulkCreateResponse createFloors(int count) {
+		long t0 = System.nanoTime();
+		log.info("Bulk creating {} floors", count);
+		FloorRepository floorRepository = batchSession.getMapper(FloorRepository.class);
+
+		List<Long> numbers = floorRepository.allocateFloorNumbers(count);
+		if (Collections.max(numbers) >= maxFloorNumber) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.FLOOR_NUMBER_EXCEEDS_LIMIT);
+		}
+
+		List<String> names = new ArrayList<>(count);
+		for (Long number : numbers) {
+			String name = HelperUtil.generateFloorName(number);
+			floorRepository.insert(Floor.builder().name(name).number(number.intValue()).roomCount(0).build());
+			names.add(name);
+		}
+		batchSession.flushStatements();
+		totalCountService.invalidateFloors();
+		eventPublisher.publishEvent(new FloorChangedEvent(null));
+
+		return complete("floor", names, t0);
+	}
+
+	@Override
+	@Transactional
+	public BulkCreateResponse createRooms(Long floorId, int count) {
+		long t0 = System.nanoTime();
+		log.info("Bulk creating {} rooms in floorId={}", count, floorId);
+		FloorRepository floorRepository = batchSession.getMapper(FloorRepository.class);
+		RoomRepository roomRepository = batchSession.getMapper(RoomRepository.class);
+		OccupancyRepository occupancyRepository = batchSession.getMapper(OccupancyRepository.class);
+
+		RoomNumberRange range = floorRepository.allocateRoomNumbers(floorId, count)
+				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.FLOOR_NOT_FOUND));
+		if (range.resolvedFloorNumber() == 0) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_FLOOR_NUMBER);
+		}
+		if (range.firstNumber() + count - 1 >= maxRoomNumber) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NUMBER_EXCEEDS_LIMIT);
+		}
+
+		List<String> names = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String name = range.roomName(i);
+			roomRepository.insert(Room.builder().floorId(floorId).name(name).status(RoomStatus.AVAILABLE).build());
+			names.add(name);
+		}
+		occupancyRepository.adjust(floorId, RoomStatus.AVAILABLE, count);
+		batchSession.flushStatements();
+		totalCountService.invalidateRooms(floorId);
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
+
+		return complete("room", names, t0);
+	}
+
+	private BulkCreateResponse complete(String resource, List<String> names, long t0) {
+		int count = names.size();
+		long elapsedNanos = System.nanoTime() - t0;
+		Timer.builder("provisioning.bulk_create").tag("resource", resource)
+				.description("Time to insert one bulk provisioning request").register(meterRegistry)
+				.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		Counter.builder("provisioning.rows").tag("resource", resource).description("Rows created by bulk provisioning")
+				.register(meterRegistry).increment(count);
+
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+		log.info("Bulk created {} {} rows in {} ms, {} rows/s", count, resource, elapsedMs,
+				elapsedNanos == 0 ? count : count * 1_000_000_000L / elapsedNanos);
+		return new BulkCreateResponse(count, names, elapsedMs);
+	}
+
+}
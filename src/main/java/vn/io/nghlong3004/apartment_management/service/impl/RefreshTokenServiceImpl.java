@@ -16,6 +16,7 @@ import vn.io.nghlong3004.apartment_management.exception.ResourceException;
 import vn.io.nghlong3004.apartment_management.model.RefreshToken;
 import vn.io.nghlong3004.apartment_management.repository.RefreshTokenRepository;
 import vn.io.nghlong3004.apartment_management.service.RefreshTokenService;
+import vn.io.nghlong3004.apartment_management.util.DigestUtil;
 
 @Service
 @RequiredArgsConstructor
@@ -31,8 +32,9 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 	@Transactional(readOnly = true)
 	public Optional<RefreshToken> findByToken(String token) {
 		log.debug("Attempting to find refresh token in the database.");
-		Optional<RefreshToken> tokenOptional = refreshTokenRepository.findByToken(token);
+		Optional<RefreshToken> tokenOptional = refreshTokenRepository.findByTokenHash(DigestUtil.sha256(token));
 		if (tokenOptional.isPresent()) {
+			tokenOptional.get().setToken(token);
 			log.debug("Refresh token found for user ID: {}", tokenOptional.get().getUserId());
 		} else {
 			log.debug("Refresh token not found in the database.");
@@ -52,7 +54,7 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 				.expiryDate(Instant.now().plusMillis(refreshTokenExpirationMs)).build();
 
 		log.debug("Saving new refresh token to the database for user ID: {}", userId);
-		refreshTokenRepository.save(userId, refreshToken.getToken(), refreshToken.getExpiryDate());
+		refreshTokenRepository.save(userId, DigestUtil.sha256(refreshToken.getToken()), refreshToken.getExpiryDate());
 
 		log.info("Successfully created and saved a new refresh token for user ID: {}", userId);
 		return refreshToken;
@@ -71,4 +73,10 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
 		log.debug("Refresh token for user ID: {} is still valid.", token.getUserId());
 	}
-}
\ No newline at end of file
+
+	@Override
+	@Transactional
+	public int deleteExpiredBatch(int batchSize) {
+		return refreshTokenRepository.deleteExpired(Instant.now(), batchSize);
+	}
+}
@@ -1,8 +1,10 @@
 package vn.io.nghlong3004.apartment_management.service.impl;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,26 +12,39 @@ import org.springframework.util.StopWatch;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.cache.TopologyIndex;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
-import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomNumberRange;
 import vn.io.nghlong3004.apartment_management.model.RoomStatus;
 import vn.io.nghlong3004.apartment_management.model.dto.PagedResponse;
 import vn.io.nghlong3004.apartment_management.model.dto.RoomRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
 import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
 import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
 import vn.io.nghlong3004.apartment_management.service.RoomService;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
 import vn.io.nghlong3004.apartment_management.util.HelperUtil;
+import vn.io.nghlong3004.apartment_management.util.KeysetPageUtil;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RoomServiceImpl implements RoomService {
 
+	private static final Set<String> KEYSET_COLUMNS = Set.of("id", "name", "created", "updated");
+
 	private final RoomRepository roomRepository;
 	private final FloorRepository floorRepository;
+	private final TotalCountService totalCountService;
+	private final OccupancyService occupancyService;
+	private final TopologyIndex topologyIndex;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Value("${apartment.management.room.max-number}")
 	private long maxRoomNumber;
@@ -47,15 +62,23 @@ public class RoomServiceImpl implements RoomService {
 		});
 	}
 
+	@Override
+	public ResourceVersion getRoomVersion(Long floorId, Long roomId) {
+		return roomRepository.findVersionByFloorIdAndRoomId(floorId, roomId)
+				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ROOM_NOT_FOUND));
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public RoomResponse getRoomResponse(Long floorId, Long roomId) {
 		log.info("Fetching room response for floorId={}, roomId={}", floorId, roomId);
 
-		Room room = getRoom(floorId, roomId);
-		log.debug("Found room: id={}, name='{}', status={}", room.getId(), room.getName(), room.getStatus());
-
-		RoomResponse response = RoomResponse.from(room);
+		RoomResponse response = roomRepository.findResponseByFloorIdAndRoomId(floorId, roomId).orElseThrow(() -> {
+			log.warn("Room not found: floorId={}, roomId={}", floorId, roomId);
+			return new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ROOM_NOT_FOUND);
+		});
+		log.debug("Found room: id={}, name='{}', status={}", response.getId(), response.getName(),
+				response.getStatus());
 		log.info("Successfully built RoomResponse for floorId={}, roomId={}", floorId, roomId);
 
 		return response;
@@ -66,14 +89,16 @@ public class RoomServiceImpl implements RoomService {
 	public void createRoom(Long floorId) {
 		log.info("Start creating room in floorId={}", floorId);
 
-		String nameRoom = getRoomName(floorId);
+		String nameRoom = allocateRoomNames(floorId, 1).roomName(0);
 
 		Room room = Room.builder().floorId(floorId).name(nameRoom).status(RoomStatus.AVAILABLE).build();
 
 		roomRepository.insert(room);
+		occupancyService.roomsAdded(floorId, RoomStatus.AVAILABLE, 1);
 		log.info("Inserted new room with name='{}' into floorId={}", nameRoom, floorId);
 
-		floorRepository.incrementRoomCount(floorId);
+		totalCountService.invalidateRooms(floorId);
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
 
 		log.info("Successfully created room name='{}' in floorId={}", nameRoom, floorId);
 	}
@@ -92,7 +117,9 @@ public class RoomServiceImpl implements RoomService {
 
 		room.setStatus(newStatus);
 
-		roomRepository.updateRoom(room);
+		RoomStatus previousStatus = roomRepository.updateRoom(room);
+		occupancyService.statusChanged(floorId, previousStatus, newStatus);
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
 
 		log.info("Updated roomId={} in floorId={} -> userId={}, status={}", roomId, floorId, newStatus);
 	}
@@ -106,16 +133,22 @@ public class RoomServiceImpl implements RoomService {
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NOT_FOUND);
 		}
 
-		roomRepository.deleteByIdAndFloorId(roomId, floorId);
+		RoomStatus removedStatus = roomRepository.deleteByIdAndFloorId(roomId, floorId);
+		occupancyService.roomRemoved(floorId, removedStatus);
+		topologyIndex.roomRemoved(roomId);
 		floorRepository.decrementRoomCount(floorId);
+		totalCountService.invalidateRooms(floorId);
+		eventPublisher.publishEvent(new FloorChangedEvent(floorId));
 
 		log.info("Room deleted: roomId={}, floorId={}", roomId, floorId);
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public PagedResponse<RoomResponse> getRooms(Long floorId, String name, int page, int size, String sort) {
-		log.info("Rooms query: floorId={}, name='{}', page={}, size={}, sort={}", floorId, name, page, size, sort);
+	public PagedResponse<RoomResponse> getRooms(Long floorId, String name, int page, int size, String sort,
+			String cursor, boolean withTotal) {
+		log.info("Rooms query: floorId={}, name='{}', page={}, size={}, sort={}, cursor={}, withTotal={}", floorId,
+				name, page, size, sort, cursor, withTotal);
 
 		floorRepository.floorExists(floorId).filter(Boolean::booleanValue)
 				.orElseThrow(() -> new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.FLOOR_NOT_FOUND));
@@ -123,10 +156,14 @@ public class RoomServiceImpl implements RoomService {
 		if (name != null && !name.isBlank()) {
 			return getRoomByName(name, floorId);
 		}
-		return getListRoom(floorId, page, size, sort);
+		if (cursor != null && !cursor.isBlank()) {
+			return getListRoomByCursor(floorId, cursor, size, withTotal);
+		}
+		return getListRoom(floorId, page, size, sort, withTotal);
 	}
 
-	private PagedResponse<RoomResponse> getListRoom(Long floorId, int page, int size, String sort) {
+	private PagedResponse<RoomResponse> getListRoom(Long floorId, int page, int size, String sort,
+			boolean withTotal) {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
 
@@ -140,18 +177,26 @@ public class RoomServiceImpl implements RoomService {
 		log.debug("Normalized params: safePage={}, safeSize={}, orderBy='{}', offset={}", safePage, safeSize, orderBy,
 				offset);
 
-		long total = roomRepository.countByFloorId(floorId);
+		Long total = withTotal ? totalCountService.countRooms(floorId) : null;
 		log.debug("Total rooms found for floorId={}: {}", floorId, total);
 
-		List<Room> rooms = total == 0 ? List.of()
-				: roomRepository.findPageByFloorId(floorId, orderBy, safeSize, offset);
+		List<Room> rows = roomRepository.findPageByFloorId(floorId, orderBy, safeSize + 1, offset);
+		boolean hasNext = rows.size() > safeSize;
+		List<Room> rooms = hasNext ? rows.subList(0, safeSize) : rows;
 
 		List<RoomResponse> content = rooms.stream().map(RoomResponse::from).toList();
 
-		int totalPages = (int) Math.ceil(total / (double) safeSize);
+		Integer totalPages = HelperUtil.totalPages(total, safeSize);
+
+		PageCursor start = PageCursor.start(orderBy, KEYSET_COLUMNS);
+		String next = KeysetPageUtil.next(rooms, start, hasNext, room -> sortValue(room, start.column()),
+				Room::getId);
+		String prev = KeysetPageUtil.prev(rooms, start, safePage > 0, room -> sortValue(room, start.column()),
+				Room::getId);
 
 		PagedResponse<RoomResponse> resp = PagedResponse.<RoomResponse>builder().content(content).page(safePage)
-				.size(safeSize).totalElements(total).totalPages(Math.max(totalPages, 1)).build();
+				.size(safeSize).totalElements(total).totalPages(totalPages).hasNext(hasNext).next(next).prev(prev)
+				.build();
 
 		stopWatch.stop();
 		log.info("Successfully fetched {} rooms (of total={}) for floorId={}, totalPages={}, Elapsed time={} ms",
@@ -160,6 +205,43 @@ public class RoomServiceImpl implements RoomService {
 		return resp;
 	}
 
+	private PagedResponse<RoomResponse> getListRoomByCursor(Long floorId, String token, int size,
+			boolean withTotal) {
+		StopWatch stopWatch = new StopWatch();
+		stopWatch.start();
+		int safeSize = Math.max(size, 1);
+		PageCursor cursor = PageCursor.decode(token, KEYSET_COLUMNS);
+		log.info("Fetching room list by cursor for floorId={}, column={}, backward={}, size={}", floorId,
+				cursor.column(), cursor.backward(), safeSize);
+
+		List<Room> rows = roomRepository.findPageByFloorIdAndCursor(floorId, cursor, safeSize + 1);
+		List<Room> rooms = KeysetPageUtil.page(rows, cursor, safeSize);
+		List<RoomResponse> content = rooms.stream().map(RoomResponse::from).toList();
+
+		Long total = withTotal ? totalCountService.countRooms(floorId) : null;
+		boolean hasNext = KeysetPageUtil.hasNext(rows.size(), cursor, safeSize);
+
+		String next = KeysetPageUtil.next(rooms, cursor, hasNext, room -> sortValue(room, cursor.column()),
+				Room::getId);
+		String prev = KeysetPageUtil.prev(rooms, cursor, KeysetPageUtil.hasPrev(rows.size(), cursor, safeSize),
+				room -> sortValue(room, cursor.column()), Room::getId);
+
+		stopWatch.stop();
+		log.info("Successfully fetched {} rooms by cursor for floorId={}, Elapsed time={} ms", content.size(), floorId,
+				stopWatch.getTotalTimeMillis());
+		return PagedResponse.<RoomResponse>builder().content(content).page(0).size(safeSize).totalElements(total)
+				.totalPages(HelperUtil.totalPages(total, safeSize)).hasNext(hasNext).next(next).prev(prev).build();
+	}
+
+	private static String sortValue(Room room, String column) {
+		return switch (column) {
+		case "name" -> room.getName();
+		case "created" -> String.valueOf(room.getCreated());
+		case "updated" -> String.valueOf(room.getUpdated());
+		default -> String.valueOf(room.getId());
+		};
+	}
+
 	private PagedResponse<RoomResponse> getRoomByName(String currentName, Long floorId) {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
@@ -168,14 +250,12 @@ public class RoomServiceImpl implements RoomService {
 		final String name = currentName.trim();
 		log.debug("Normalized room name='{}'", name);
 
-		Room room = roomRepository.findByFloorIdAndName(floorId, name).orElseThrow(() -> {
+		RoomResponse dto = roomRepository.findResponseByFloorIdAndName(floorId, name).orElseThrow(() -> {
 			log.error("Room not found with name='{}' in floorId={}", name, floorId);
 			return new ResourceException(HttpStatus.NOT_FOUND, ErrorMessageConstant.ROOM_NOT_FOUND);
 		});
 
-		log.debug("Found room: id={}, name='{}', floorId={}", room.getId(), room.getName(), room.getFloorId());
-
-		RoomResponse dto = RoomResponse.from(room);
+		log.debug("Found room: id={}, name='{}', floorId={}", dto.getId(), dto.getName(), dto.getFloorId());
 
 		PagedResponse<RoomResponse> resp = PagedResponse.<RoomResponse>builder().content(List.of(dto)).page(0).size(1)
 				.totalElements(1L).totalPages(1).build();
@@ -187,32 +267,29 @@ public class RoomServiceImpl implements RoomService {
 		return resp;
 	}
 
-	private String getRoomName(Long floorId) {
-		log.info("Start generating room name for floorId={}", floorId);
+	/**
+	 * Reserves room numbers (and counts the rooms) on the floor row in one
+	 * statement; a rejected range rolls back with the transaction.
+	 */
+	private RoomNumberRange allocateRoomNames(Long floorId, int count) {
+		log.info("Start allocating {} room numbers for floorId={}", count, floorId);
 
-		Floor floor = floorRepository.findById(floorId).orElseThrow(() -> {
+		RoomNumberRange range = floorRepository.allocateRoomNumbers(floorId, count).orElseThrow(() -> {
 			log.error("Floor not found with id={}", floorId);
 			return new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.FLOOR_NOT_FOUND);
 		});
 
-		Integer roomNumber = floor.getRoomCount() + 1;
-		if (roomNumber >= maxRoomNumber) {
+		if (range.firstNumber() + count - 1 >= maxRoomNumber) {
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ROOM_NUMBER_EXCEEDS_LIMIT);
 		}
-		int floorNumber = HelperUtil.parseFloorNumber(floor.getName());
-
-		log.debug("Parsed floor info: id={}, name={}, floorNumber={}, currentRoomCount={}, nextRoomNumber={}",
-				floor.getId(), floor.getName(), floorNumber, floor.getRoomCount(), roomNumber);
-
-		if (floorNumber == 0) {
-			log.error("Invalid floor number parsed from floorName='{}'", floor.getName());
+		if (range.resolvedFloorNumber() == 0) {
+			log.error("Invalid floor number for floorName='{}'", range.floorName());
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_FLOOR_NUMBER);
 		}
 
-		String roomName = HelperUtil.generateRoomName(floorNumber, roomNumber);
-		log.info("Generated roomName='{}' for floorId={}", roomName, floorId);
-
-		return roomName;
+		log.debug("Allocated room numbers: floorId={}, floorNumber={}, first={}, count={}", floorId,
+				range.resolvedFloorNumber(), range.firstNumber(), count);
+		return range;
 	}
 
 	private Room loadRoomByFloorIdAndRoomId(Long floorId, Long roomId) {
@@ -0,0 +1,144 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.model.TokenRevocation;
+import vn.io.nghlong3004.apartment_management.repository.TokenRevocationRepository;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
+import vn.io.nghlong3004.apartment_management.util.BloomFilter;
+
+/**
+ * Per-user "revoked before" timestamps, fronted by a Bloom filter of revoked
+ * user ids. A token whose user is not in the filter is accepted without any DB
+ * read or lock; only filter hits (real or false positive) query
+ * token_revocation.
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+	private final TokenRevocationRepository tokenRevocationRepository;
+	private final Counter bloomMissCounter;
+	private final Counter bloomHitCounter;
+	private final Counter revokedCounter;
+
+	@Value("${jwt.access-token-expiration-ms}")
+	private long accessTokenExpirationMs;
+
+	@Value("${apartment.management.security.revocation.expected-insertions:100000}")
+	private long expectedInsertions;
+
+	@Value("${apartment.management.security.revocation.false-positive-rate:0.01}")
+	private double falsePositiveRate;
+
+	@Value("${apartment.management.security.revocation.sync-overlap-ms:60000}")
+	private long syncOverlapMs;
+
+	private volatile BloomFilter revokedUsers;
+	private volatile Instant lastSeenUpdate = Instant.EPOCH;
+
+	public TokenRevocationServiceImpl(TokenRevocationRepository tokenRevocationRepository,
+			MeterRegistry meterRegistry) {
+		this.tokenRevocationRepository = tokenRevocationRepository;
+		this.bloomMissCounter = Counter.builder("token_revocation.lookup").tag("result", "bloom_miss")
+				.description("Access token revocation checks").register(meterRegistry);
+		this.bloomHitCounter = Counter.builder("token_revocation.lookup").tag("result", "bloom_hit")
+				.description("Access token revocation checks").register(meterRegistry);
+		this.revokedCounter = Counter.builder("token_revocation.lookup").tag("result", "revoked")
+				.description("Access token revocation checks").register(meterRegistry);
+	}
+
+	@PostConstruct
+	void init() {
+		rebuild();
+	}
+
+	/**
+	 * Rejects every access token of the user issued up to now. JWT issue times
+	 * have second precision, so the cut-off is rounded up to the next second.
+	 */
+	@Override
+	public void revokeAllTokens(Long userId) {
+		Instant revokedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+		tokenRevocationRepository.upsert(userId, revokedBefore);
+		revokedUsers.put(userId);
+		log.info("Access tokens revoked for userId={} issued before {}", userId, revokedBefore);
+	}
+
+	@Override
+	public boolean isRevoked(Long userId, Instant issuedAt) {
+		if (!revokedUsers.mightContain(userId)) {
+			bloomMissCounter.increment();
+			return false;
+		}
+		bloomHitCounter.increment();
+		Instant revokedBefore = tokenRevocationRepository.findRevokedBefore(userId).orElse(null);
+		if (revokedBefore == null) {
+			return false;
+		}
+		boolean revoked = issuedAt == null || issuedAt.isBefore(revokedBefore);
+		if (revoked) {
+			revokedCounter.increment();
+		}
+		return revoked;
+	}
+
+	/**
+	 * Pulls revocations written by other nodes. The query window overlaps the
+	 * previous one because {@code updated} is assigned before commit.
+	 */
+	@Override
+	public void sync() {
+		Instant since = lastSeenUpdate.minusMillis(syncOverlapMs);
+		List<TokenRevocation> changes = tokenRevocationRepository.findUpdatedSince(since);
+		BloomFilter filter = revokedUsers;
+		for (TokenRevocation revocation : changes) {
+			filter.put(revocation.getUserId());
+			advanceWatermark(revocation.getUpdated());
+		}
+		if (!changes.isEmpty()) {
+			log.debug("Token revocation sync applied {} changes", changes.size());
+		}
+	}
+
+	/**
+	 * Purges revocations older than any still-valid access token and rebuilds the
+	 * filter from the remaining rows, since a Bloom filter cannot drop keys.
+	 */
+	@Override
+	public void rebuild() {
+		Instant cutoff = Instant.now().minusMillis(accessTokenExpirationMs);
+		int purged = tokenRevocationRepository.deleteRevokedBefore(cutoff);
+
+		BloomFilter filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+		Instant watermark = Instant.EPOCH;
+		List<TokenRevocation> all = tokenRevocationRepository.findUpdatedSince(Instant.EPOCH);
+		for (TokenRevocation revocation : all) {
+			filter.put(revocation.getUserId());
+			if (revocation.getUpdated() != null && revocation.getUpdated().isAfter(watermark)) {
+				watermark = revocation.getUpdated();
+			}
+		}
+		revokedUsers = filter;
+		lastSeenUpdate = watermark;
+		// picks up revocations that went into the old filter while this one was built
+		sync();
+		log.info("Token revocation filter rebuilt: entries={}, purged={}", all.size(), purged);
+	}
+
+	private void advanceWatermark(Instant updated) {
+		if (updated != null && updated.isAfter(lastSeenUpdate)) {
+			lastSeenUpdate = updated;
+		}
+	}
+
+}
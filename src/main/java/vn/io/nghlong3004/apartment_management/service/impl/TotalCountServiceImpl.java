@@ -0,0 +1,126 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import vn.io.nghlong3004.apartment_management.model.TotalCountMode;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.FloorRequestRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.repository.StatisticsRepository;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
+
+/**
+ * Totals for paged listings. EXACT counts on every call; CACHED keeps the last
+ * count until an insert or delete on that listing commits (or the TTL
+ * passes); ESTIMATED reads the planner's reltuples for the unfiltered floor
+ * and floor_request tables and falls back to a cached count where no estimate
+ * exists (rooms of one floor, never-analyzed tables).
+ */
+@Slf4j
+@Service
+public class TotalCountServiceImpl implements TotalCountService {
+
+	private static final String FLOORS = "floor";
+	private static final String REQUESTS = "floor_request";
+	private static final String ROOMS_PREFIX = "room:";
+
+	private final FloorRepository floorRepository;
+	private final RoomRepository roomRepository;
+	private final FloorRequestRepository floorRequestRepository;
+	private final StatisticsRepository statisticsRepository;
+	private final TotalCountMode mode;
+	private final Cache<String, Long> totals;
+
+	public TotalCountServiceImpl(FloorRepository floorRepository, RoomRepository roomRepository,
+			FloorRequestRepository floorRequestRepository, StatisticsRepository statisticsRepository,
+			MeterRegistry meterRegistry,
+			@Value("${apartment.management.paging.total-count.mode:CACHED}") TotalCountMode mode,
+			@Value("${apartment.management.paging.total-count.ttl-seconds:60}") long ttlSeconds,
+			@Value("${apartment.management.paging.total-count.max-size:20000}") long maxSize) {
+		this.floorRepository = floorRepository;
+		this.roomRepository = roomRepository;
+		this.floorRequestRepository = floorRequestRepository;
+		this.statisticsRepository = statisticsRepository;
+		this.mode = mode;
+		this.totals = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(ttlSeconds)).maximumSize(maxSize)
+				.recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, totals, "paging_total_count");
+		log.info("TotalCountService initialized. mode={}, ttlSeconds={}, maxSize={}", mode, ttlSeconds, maxSize);
+	}
+
+	@Override
+	public long countFloors() {
+		return count(FLOORS, floorRepository::countAll, true);
+	}
+
+	@Override
+	public long countRooms(Long floorId) {
+		return count(ROOMS_PREFIX + floorId, () -> roomRepository.countByFloorId(floorId), false);
+	}
+
+	@Override
+	public long countRequests() {
+		return count(REQUESTS, floorRequestRepository::countAll, true);
+	}
+
+	@Override
+	public void invalidateFloors() {
+		invalidate(FLOORS);
+	}
+
+	@Override
+	public void invalidateRooms(Long floorId) {
+		invalidate(ROOMS_PREFIX + floorId);
+	}
+
+	@Override
+	public void invalidateRequests() {
+		invalidate(REQUESTS);
+	}
+
+	private long count(String key, LongSupplier exact, boolean estimable) {
+		return switch (mode) {
+		case EXACT -> exact.getAsLong();
+		case CACHED -> totals.get(key, k -> exact.getAsLong());
+		case ESTIMATED -> totals.get(key, k -> estimable ? estimate(k, exact) : exact.getAsLong());
+		};
+	}
+
+	private long estimate(String table, LongSupplier exact) {
+		long estimate = statisticsRepository.estimateRowCount(table).orElse(-1L);
+		if (estimate < 0) {
+			log.debug("No planner estimate for table={}, counting", table);
+			return exact.getAsLong();
+		}
+		return estimate;
+	}
+
+	/**
+	 * Same two-step eviction as the principal cache: drop now, and again after
+	 * commit so a count taken mid-transaction is not kept.
+	 */
+	private void invalidate(String key) {
+		totals.invalidate(key);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					totals.invalidate(key);
+				}
+			});
+		}
+	}
+
+}
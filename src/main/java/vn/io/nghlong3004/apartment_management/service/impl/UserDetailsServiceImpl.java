@@ -1,5 +1,6 @@
 package vn.io.nghlong3004.apartment_management.service.impl;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,9 +11,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
 import vn.io.nghlong3004.apartment_management.model.User;
 import vn.io.nghlong3004.apartment_management.model.UserPrincipal;
 import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.security.PrincipalCache;
 
 @Service
 @Slf4j
@@ -20,6 +23,10 @@ import vn.io.nghlong3004.apartment_management.repository.UserRepository;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
 	private final UserRepository userRepository;
+	private final PrincipalCache principalCache;
+
+	@Value("${apartment.management.security.trust-jwt-claims:false}")
+	private boolean trustJwtClaims;
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -27,6 +34,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	}
 
 	public UserDetails loadUserById(Long id) throws UsernameNotFoundException {
+		return principalCache.get(id, this::loadPrincipal);
+	}
+
+	public UserDetails loadUser(JwtClaims claims) {
+		if (trustJwtClaims) {
+			log.debug("Trusting JWT claims for userId = {}", claims.userId());
+			return new UserPrincipal(claims.userId(), null, claims.authorities());
+		}
+		return loadUserById(claims.userId());
+	}
+
+	private UserPrincipal loadPrincipal(Long id) {
 		log.debug("Loading user by id = {}", id);
 
 		User user = userRepository.findById(id)
@@ -3,7 +3,6 @@ package vn.io.nghlong3004.apartment_management.service.impl;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
 import vn.io.nghlong3004.apartment_management.model.RefreshToken;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.Role;
 import vn.io.nghlong3004.apartment_management.model.User;
 import vn.io.nghlong3004.apartment_management.model.UserStatus;
@@ -20,10 +20,13 @@ import vn.io.nghlong3004.apartment_management.model.dto.RegisterRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.Token;
 import vn.io.nghlong3004.apartment_management.model.dto.UserDto;
 import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.security.PasswordHasher;
 import vn.io.nghlong3004.apartment_management.service.JWTService;
 import vn.io.nghlong3004.apartment_management.service.RefreshTokenService;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
 import vn.io.nghlong3004.apartment_management.service.UserService;
 import vn.io.nghlong3004.apartment_management.service.validator.UserServiceValidator;
+import vn.io.nghlong3004.apartment_management.util.HelperUtil;
 
 @Service
 @RequiredArgsConstructor
@@ -34,33 +37,34 @@ public class UserServiceImpl implements UserService {
 	private long refreshTokenExpirationMs;
 
 	private final UserRepository userRepository;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
 	private final JWTService jwtService;
 	private final RefreshTokenService refreshTokenService;
 	private final UserServiceValidator userServiceValidator;
+	private final TokenRevocationService tokenRevocationService;
 
+	// Not @Transactional: a request queued behind BCrypt must not hold a pooled connection.
 	@Override
-	@Transactional
 	public void register(RegisterRequest registerRequest) {
 		log.info("Register start for email={}", registerRequest.email());
 
-		userServiceValidator.ensureEmailNotExists(normalizeEmail(registerRequest.email()));
+		userServiceValidator.ensureEmailNotExists(HelperUtil.normalizeEmail(registerRequest.email()));
 
+		String password = passwordHasher.encode(registerRequest.password());
 		User user = User.builder().firstName(registerRequest.firstName()).lastName(registerRequest.lastName())
-				.email(normalizeEmail(registerRequest.email())).phoneNumber(registerRequest.phoneNumber())
-				.password(passwordEncoder.encode(registerRequest.password())).role(Role.USER).status(UserStatus.ACTIVE)
-				.floorId(null).build();
+				.email(HelperUtil.normalizeEmail(registerRequest.email())).phoneNumber(registerRequest.phoneNumber())
+				.password(password).role(Role.USER).status(UserStatus.ACTIVE).floorId(null).build();
 
 		userRepository.save(user);
 		log.info("Register success for email={}", user.getEmail());
 	}
 
+	// Not @Transactional: credentials are checked before the refresh token is written in its own transaction.
 	@Override
-	@Transactional
 	public Token login(LoginRequest loginRequest) {
 		log.info("Login start for email={}", loginRequest.email());
 
-		User user = userRepository.findByEmail(normalizeEmail(loginRequest.email())).orElseThrow(() -> {
+		User user = userRepository.findByEmail(HelperUtil.normalizeEmail(loginRequest.email())).orElseThrow(() -> {
 			log.warn("Login failed: email not found {}", loginRequest.email());
 			return new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_CREDENTIALS);
 		});
@@ -116,11 +120,17 @@ public class UserServiceImpl implements UserService {
 	public UserDto getUser(Long id) {
 		log.info("Get user start id={}", id);
 
-		User user = userRepository.findById(id)
+		UserDto user = userRepository.findProfileById(id)
 				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND));
 
 		log.info("Get user success id={}", id);
-		return UserDto.from(user);
+		return user;
+	}
+
+	@Override
+	public ResourceVersion getUserVersion(Long id) {
+		return userRepository.findVersionById(id)
+				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND));
 	}
 
 	@Override
@@ -132,19 +142,16 @@ public class UserServiceImpl implements UserService {
 		long t0 = System.nanoTime();
 		userRepository.delete(id);
 		log.debug("user(delete) -> timeMs={}", (System.nanoTime() - t0) / 1_000_000.0);
+		tokenRevocationService.revokeAllTokens(id);
 
 		log.info("Delete user success id={}", id);
 
 	}
 
-	private String normalizeEmail(String email) {
-		return email == null ? null : email.trim().toLowerCase();
-	}
-
 	private User mapUserDtoToUser(Long id, UserDto userDto, User currentUser) {
 		User user = currentUser;
 		if (userDto.getEmail() != null) {
-			String newEmail = normalizeEmail(userDto.getEmail());
+			String newEmail = HelperUtil.normalizeEmail(userDto.getEmail());
 			if (!newEmail.equalsIgnoreCase(user.getEmail())) {
 				if (userRepository.existsByEmail(newEmail).orElse(false)) {
 					log.warn("Update user email conflict: id={}, newEmail={}", id, newEmail);
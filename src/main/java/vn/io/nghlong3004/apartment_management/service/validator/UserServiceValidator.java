@@ -1,17 +1,18 @@
 package vn.io.nghlong3004.apartment_management.service.validator;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.ActorContext;
 import vn.io.nghlong3004.apartment_management.model.RefreshToken;
 import vn.io.nghlong3004.apartment_management.model.User;
 import vn.io.nghlong3004.apartment_management.model.UserStatus;
 import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.security.PasswordHasher;
 import vn.io.nghlong3004.apartment_management.service.RefreshTokenService;
 import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
 
@@ -21,14 +22,17 @@ import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
 public class UserServiceValidator {
 
 	private final UserRepository userRepository;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
 	private final RefreshTokenService refreshTokenService;
 
 	public void ensureCanUpdateUser(Long targetUserId) {
-		Long actorId = SecurityUtil.getCurrentUserId()
-				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND));
-		boolean isAdmin = SecurityUtil.hasRole("ADMIN");
-		boolean isSelf = actorId != null && actorId.equals(targetUserId);
+		ActorContext actor = SecurityUtil.currentActor();
+		Long actorId = actor.userId();
+		if (actorId == null) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND);
+		}
+		boolean isAdmin = actor.isAdmin();
+		boolean isSelf = actor.isSelf(targetUserId);
 
 		if (!(isAdmin || isSelf)) {
 			log.warn("Update user forbidden: actorId={}, targetUserId={}, isAdmin={}, isSelf={}", actorId, targetUserId,
@@ -46,7 +50,7 @@ public class UserServiceValidator {
 	}
 
 	public void validateCredentials(String rawPassword, User user) {
-		if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+		if (!passwordHasher.matches(rawPassword, user.getPassword())) {
 			log.warn("Login failed: invalid password email={}", user.getEmail());
 			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.INVALID_CREDENTIALS);
 		}
@@ -67,14 +71,17 @@ public class UserServiceValidator {
 
 	public void ensureCanDeleteUser(Long id) {
 
-		if (!SecurityUtil.hasRole("ADMIN")) {
+		ActorContext actor = SecurityUtil.currentActor();
+		if (!actor.isAdmin()) {
 			log.warn("Delete user forbidden: userId={}", id);
 			throw new ResourceException(HttpStatus.FORBIDDEN, ErrorMessageConstant.FORBIDDEN);
 		}
 
-		Long actorId = SecurityUtil.getCurrentUserId()
-				.orElseThrow(() -> new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND));
-		if (actorId == null || id.equals(actorId)) {
+		Long actorId = actor.userId();
+		if (actorId == null) {
+			throw new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ID_NOT_FOUND);
+		}
+		if (id.equals(actorId)) {
 			log.warn("Delete user forbidden: actorId={}, targetUserId={}", actorId, id);
 			throw new ResourceException(HttpStatus.FORBIDDEN, ErrorMessageConstant.SELF_DELETE_FORBIDDEN);
 		}
@@ -0,0 +1,58 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over {@code long} keys. Bits are only ever set, with a
+ * CAS per word, so readers never block and never see a false negative for a key
+ * whose {@link #put(long)} has returned.
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(1, expectedInsertions);
+		long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		int words = (int) Math.max(1, (bits + 63) / 64);
+		this.words = new AtomicLongArray(words);
+		this.bitCount = (long) words * 64;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+	}
+
+	public void put(long key) {
+		long h1 = mix(key);
+		long h2 = mix(h1) | 1;
+		for (int i = 0; i < hashCount; ++i) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			int index = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current = words.get(index);
+			while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+				current = words.get(index);
+			}
+		}
+	}
+
+	public boolean mightContain(long key) {
+		long h1 = mix(key);
+		long h2 = mix(h1) | 1;
+		for (int i = 0; i < hashCount; ++i) {
+			long bit = Math.floorMod(h1 + i * h2, bitCount);
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long mix(long z) {
+		z += 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -0,0 +1,27 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class DigestUtil {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	public static byte[] sha256(String value) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	public static String sha256Hex(String value) {
+		return HEX.formatHex(sha256(value));
+	}
+
+}
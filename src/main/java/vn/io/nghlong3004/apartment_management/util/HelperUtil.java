@@ -5,6 +5,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public final class HelperUtil {
+	private static final Pattern DIGITS = Pattern.compile("\\d+");
+
 	public static final Map<String, String> SORT_WHITELIST = Map.of("id", "id", "name", "name", "managerId",
 			"manager_id", "roomCount", "room_count", "created", "created", "updated", "updated");
 
@@ -23,6 +25,14 @@ public final class HelperUtil {
 		return column + " " + direction;
 	}
 
+	public static Integer totalPages(Long total, int size) {
+		return total == null ? null : Math.max((int) Math.ceil(total / (double) size), 1);
+	}
+
+	public static String normalizeEmail(String email) {
+		return email == null ? null : email.trim().toLowerCase();
+	}
+
 	public static String generateRoomName(int floorNumber, int roomNumber) {
 		return String.format("Room %d-%02d", floorNumber, roomNumber);
 	}
@@ -32,8 +42,7 @@ public final class HelperUtil {
 	}
 
 	public static int parseFloorNumber(String floorName) {
-		Pattern pattern = Pattern.compile("\\d+");
-		Matcher matcher = pattern.matcher(floorName);
+		Matcher matcher = DIGITS.matcher(floorName);
 
 		if (matcher.find()) {
 			int number = Integer.parseInt(matcher.group());
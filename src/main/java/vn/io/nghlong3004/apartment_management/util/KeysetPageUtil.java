@@ -0,0 +1,57 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.experimental.UtilityClass;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+
+@UtilityClass
+public class KeysetPageUtil {
+
+	/**
+	 * Trims a keyset query that fetched {@code size + 1} rows down to one page in
+	 * display order. The extra row only tells whether another page exists in the
+	 * direction of travel.
+	 */
+	public static <E> List<E> page(List<E> rows, PageCursor cursor, int size) {
+		List<E> page = new ArrayList<>(rows.size() > size ? rows.subList(0, size) : rows);
+		if (cursor.backward()) {
+			Collections.reverse(page);
+		}
+		return page;
+	}
+
+	public static <E> String next(List<E> page, PageCursor cursor, boolean hasNext, Function<E, String> sortValue,
+			Function<E, Long> id) {
+		if (cursor == null || !hasNext || page.isEmpty()) {
+			return null;
+		}
+		E last = page.get(page.size() - 1);
+		return cursor.after(sortValue.apply(last), id.apply(last)).encode();
+	}
+
+	public static <E> String prev(List<E> page, PageCursor cursor, boolean hasPrev, Function<E, String> sortValue,
+			Function<E, Long> id) {
+		if (cursor == null || !hasPrev || page.isEmpty()) {
+			return null;
+		}
+		E first = page.get(0);
+		return cursor.before(sortValue.apply(first), id.apply(first)).encode();
+	}
+
+	/**
+	 * For a keyset page fetched with {@code size + 1} rows: whether a page exists
+	 * after it.
+	 */
+	public static boolean hasNext(int fetched, PageCursor cursor, int size) {
+		return cursor.backward() || fetched > size;
+	}
+
+	public static boolean hasPrev(int fetched, PageCursor cursor, int size) {
+		return cursor.backward() ? fetched > size : cursor.id() != null;
+	}
+
+}
@@ -0,0 +1,144 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+/**
+ * Open-addressing hash map from {@code long} to {@code long} with linear
+ * probing, so neither keys nor values are boxed. Key {@code 0} marks an empty
+ * slot and cannot be stored; database ids start at 1.
+ * <p>
+ * Not thread-safe. Keys and values share one array, so a reader racing a
+ * writer can get a wrong answer but never an out-of-bounds index or an
+ * endless probe; callers validate such reads (e.g. with a StampedLock) and
+ * retry.
+ */
+public class LongLongHashMap {
+
+	@FunctionalInterface
+	public interface Entry {
+		void accept(long key, long value);
+	}
+
+	private static final long EMPTY = 0L;
+
+	private long[] table;
+	private int size;
+
+	public LongLongHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+		this.table = new long[capacity * 2];
+	}
+
+	public long get(long key, long missing) {
+		long[] slots = table;
+		int mask = (slots.length >>> 1) - 1;
+		int index = mix(key) & mask;
+		for (int probes = 0; probes <= mask; ++probes) {
+			long current = slots[index << 1];
+			if (current == key) {
+				return slots[(index << 1) + 1];
+			}
+			if (current == EMPTY) {
+				return missing;
+			}
+			index = (index + 1) & mask;
+		}
+		return missing;
+	}
+
+	public void put(long key, long value) {
+		if (key == EMPTY) {
+			throw new IllegalArgumentException("key 0 is reserved");
+		}
+		int index = indexOf(table, key);
+		if (table[index << 1] == EMPTY) {
+			if ((size + 1) * 2 > table.length >>> 1) {
+				table = grow(table);
+				index = indexOf(table, key);
+			}
+			++size;
+		}
+		table[(index << 1) + 1] = value;
+		table[index << 1] = key;
+	}
+
+	public boolean putIfAbsent(long key, long value) {
+		if (containsKey(key)) {
+			return false;
+		}
+		put(key, value);
+		return true;
+	}
+
+	public boolean containsKey(long key) {
+		return key != EMPTY && table[indexOf(table, key) << 1] == key;
+	}
+
+	/**
+	 * Removes the key and shifts the following run back, so lookups never need
+	 * tombstones.
+	 */
+	public void remove(long key) {
+		if (!containsKey(key)) {
+			return;
+		}
+		int mask = (table.length >>> 1) - 1;
+		int hole = indexOf(table, key);
+		int index = hole;
+		while (true) {
+			index = (index + 1) & mask;
+			long current = table[index << 1];
+			if (current == EMPTY) {
+				break;
+			}
+			int home = mix(current) & mask;
+			if (((index - home) & mask) >= ((index - hole) & mask)) {
+				table[hole << 1] = current;
+				table[(hole << 1) + 1] = table[(index << 1) + 1];
+				hole = index;
+			}
+		}
+		table[hole << 1] = EMPTY;
+		table[(hole << 1) + 1] = 0L;
+		--size;
+	}
+
+	public void forEach(Entry entry) {
+		long[] slots = table;
+		for (int i = 0; i < slots.length; i += 2) {
+			if (slots[i] != EMPTY) {
+				entry.accept(slots[i], slots[i + 1]);
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private static int indexOf(long[] slots, long key) {
+		int mask = (slots.length >>> 1) - 1;
+		int index = mix(key) & mask;
+		while (slots[index << 1] != EMPTY && slots[index << 1] != key) {
+			index = (index + 1) & mask;
+		}
+		return index;
+	}
+
+	// Fills the new table before it is published, so readers only ever see a complete one.
+	private static long[] grow(long[] old) {
+		long[] slots = new long[old.length * 2];
+		for (int i = 0; i < old.length; i += 2) {
+			if (old[i] != EMPTY) {
+				int index = indexOf(slots, old[i]);
+				slots[index << 1] = old[i];
+				slots[(index << 1) + 1] = old[i + 1];
+			}
+		}
+		return slots;
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9e3779b97f4a7c15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+}
@@ -7,11 +7,37 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import lombok.experimental.UtilityClass;
+import vn.io.nghlong3004.apartment_management.model.ActorContext;
 import vn.io.nghlong3004.apartment_management.model.UserPrincipal;
 
 @UtilityClass
 public class SecurityUtil {
 
+	private static final ThreadLocal<ActorContext> ACTOR = new ThreadLocal<>();
+
+	/**
+	 * The actor bound by the JWT filter for this request, or one built from the
+	 * security context when nothing is bound (unfiltered paths, tests).
+	 */
+	public static ActorContext currentActor() {
+		ActorContext actor = ACTOR.get();
+		if (actor != null)
+			return actor;
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null)
+			return ActorContext.ANONYMOUS;
+		Long userId = getCurrentUserId().orElse(null);
+		return ActorContext.of(userId, authentication.getAuthorities());
+	}
+
+	public static void bindActor(ActorContext actor) {
+		ACTOR.set(actor);
+	}
+
+	public static void clearActor() {
+		ACTOR.remove();
+	}
+
 	public static Optional<Long> getCurrentUserId() {
 		SecurityContext securityContext = SecurityContextHolder.getContext();
 		if (securityContext == null)
@@ -0,0 +1,59 @@
+-- Schema the mappers were written against. Databases created before Flyway was
+-- introduced are baselined at version 1 and skip this script.
+CREATE TYPE user_role AS ENUM ('USER', 'MANAGER', 'ADMIN');
+CREATE TYPE user_status AS ENUM ('ACTIVE', 'INACTIVE');
+CREATE TYPE room_status AS ENUM ('AVAILABLE', 'RESERVED', 'SOLD');
+CREATE TYPE request_status AS ENUM ('PENDING', 'ACCEPTED', 'DECLINED', 'APPROVED', 'REJECTED', 'CANCELLED');
+
+CREATE TABLE floor (
+	id BIGSERIAL PRIMARY KEY,
+	manager_id BIGINT,
+	name VARCHAR(255) NOT NULL,
+	room_count INTEGER NOT NULL DEFAULT 0,
+	created TIMESTAMP NOT NULL DEFAULT NOW(),
+	updated TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE floor_user (
+	id BIGSERIAL PRIMARY KEY,
+	first_name VARCHAR(255),
+	last_name VARCHAR(255),
+	email VARCHAR(255) NOT NULL UNIQUE,
+	password VARCHAR(255) NOT NULL,
+	phone_number VARCHAR(32),
+	role user_role NOT NULL DEFAULT 'USER',
+	status user_status NOT NULL DEFAULT 'ACTIVE',
+	floor_id BIGINT REFERENCES floor (id) ON DELETE SET NULL,
+	created TIMESTAMP NOT NULL DEFAULT NOW(),
+	updated TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE room (
+	id BIGSERIAL PRIMARY KEY,
+	floor_id BIGINT NOT NULL REFERENCES floor (id) ON DELETE CASCADE,
+	user_id BIGINT REFERENCES floor_user (id) ON DELETE SET NULL,
+	name VARCHAR(255) NOT NULL,
+	status room_status NOT NULL DEFAULT 'AVAILABLE',
+	created TIMESTAMP NOT NULL DEFAULT NOW(),
+	updated TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE floor_request (
+	id BIGSERIAL PRIMARY KEY,
+	requester_id BIGINT NOT NULL,
+	requester_room_id BIGINT,
+	counterpart_id BIGINT,
+	counterpart_room_id BIGINT,
+	approver_id BIGINT,
+	status request_status NOT NULL DEFAULT 'PENDING',
+	closed_reason VARCHAR(255),
+	created TIMESTAMP NOT NULL DEFAULT NOW(),
+	updated TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE TABLE refresh_token (
+	id BIGSERIAL PRIMARY KEY,
+	user_id BIGINT NOT NULL,
+	token VARCHAR(255) NOT NULL UNIQUE,
+	expiry_date TIMESTAMPTZ NOT NULL
+);
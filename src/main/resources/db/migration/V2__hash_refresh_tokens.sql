@@ -0,0 +1,12 @@
+-- Refresh tokens are stored as a fixed-width SHA-256 digest instead of the raw value.
+ALTER TABLE refresh_token ADD COLUMN token_hash BYTEA;
+
+UPDATE refresh_token SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+ALTER TABLE refresh_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_token DROP COLUMN token;
+ALTER TABLE refresh_token ADD CONSTRAINT ck_refresh_token_token_hash_length CHECK (octet_length(token_hash) = 32);
+
+CREATE UNIQUE INDEX ux_refresh_token_token_hash ON refresh_token (token_hash);
+CREATE INDEX IF NOT EXISTS ix_refresh_token_user_id ON refresh_token (user_id);
+CREATE INDEX ix_refresh_token_expiry_date ON refresh_token (expiry_date);
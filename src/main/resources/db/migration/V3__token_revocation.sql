@@ -0,0 +1,8 @@
+-- Access tokens of a user issued before revoked_before are rejected.
+CREATE TABLE token_revocation (
+	user_id BIGINT PRIMARY KEY,
+	revoked_before TIMESTAMPTZ NOT NULL,
+	updated TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX ix_token_revocation_updated ON token_revocation (updated);
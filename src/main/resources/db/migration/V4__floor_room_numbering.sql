@@ -0,0 +1,26 @@
+-- Floor numbers come from a sequence and room numbers from a per-floor
+-- counter, so concurrent creates never derive the same name from a count.
+ALTER TABLE floor ADD COLUMN number INTEGER;
+ALTER TABLE floor ADD COLUMN next_room_number INTEGER NOT NULL DEFAULT 1;
+
+-- Floors created by the old count-based numbering may share a number; only
+-- the oldest keeps it, the others fall back to parsing their name.
+UPDATE floor f
+   SET number = n.number
+  FROM (
+	SELECT id, substring(name FROM '\d+')::INTEGER AS number,
+		ROW_NUMBER() OVER (PARTITION BY substring(name FROM '\d+') ORDER BY id) AS rn
+	FROM floor
+	WHERE name ~ '\d'
+  ) n
+ WHERE f.id = n.id
+   AND n.rn = 1;
+
+UPDATE floor f
+   SET next_room_number = GREATEST(f.room_count,
+		COALESCE((SELECT MAX(substring(r.name FROM '-(\d+)$')::INTEGER) FROM room r WHERE r.floor_id = f.id), 0)) + 1;
+
+CREATE UNIQUE INDEX ux_floor_number ON floor (number);
+
+CREATE SEQUENCE floor_number_seq;
+SELECT setval('floor_number_seq', COALESCE((SELECT MAX(number) FROM floor), 0) + 1, false);
@@ -0,0 +1,36 @@
+-- Indexes matching the predicates and sort orders the mappers actually use.
+
+-- Case-insensitive name lookups compare LOWER(name), which a plain index on name cannot serve.
+CREATE INDEX ix_floor_lower_name ON floor (LOWER(name));
+CREATE INDEX ix_room_floor_id_lower_name ON room (floor_id, LOWER(name));
+
+-- Only assigned rows are ever looked up by manager, owner or floor member.
+CREATE INDEX ix_floor_manager_id ON floor (manager_id) WHERE manager_id IS NOT NULL;
+CREATE INDEX ix_room_user_id ON room (user_id) WHERE user_id IS NOT NULL;
+CREATE INDEX ix_floor_user_floor_id ON floor_user (floor_id) WHERE floor_id IS NOT NULL;
+
+-- The active-request checks only ever look at open requests.
+CREATE INDEX ix_floor_request_requester_id_active ON floor_request (requester_id)
+	WHERE status IN ('PENDING','ACCEPTED');
+CREATE INDEX ix_floor_request_counterpart_id_active ON floor_request (counterpart_id)
+	WHERE status IN ('PENDING','ACCEPTED');
+
+-- Room listing, counting and cascading deletes are always scoped to one floor; (floor_id, id) also
+-- answers COUNT(id) with an index-only scan.
+CREATE INDEX ix_room_floor_id_id ON room (floor_id, id);
+
+-- Offset and keyset pages sort by (column, id) for every sortable column.
+CREATE INDEX ix_floor_name_id ON floor (name, id);
+CREATE INDEX ix_floor_room_count_id ON floor (room_count, id);
+CREATE INDEX ix_floor_created_id ON floor (created, id);
+CREATE INDEX ix_floor_updated_id ON floor (updated, id);
+
+CREATE INDEX ix_room_floor_id_name_id ON room (floor_id, name, id);
+CREATE INDEX ix_room_floor_id_created_id ON room (floor_id, created, id);
+CREATE INDEX ix_room_floor_id_updated_id ON room (floor_id, updated, id);
+
+CREATE INDEX ix_floor_request_created_id ON floor_request (created, id);
+CREATE INDEX ix_floor_request_updated_id ON floor_request (updated, id);
+
+-- The revocation purge deletes by revoked_before.
+CREATE INDEX ix_token_revocation_revoked_before ON token_revocation (revoked_before);
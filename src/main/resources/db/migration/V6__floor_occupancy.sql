@@ -0,0 +1,13 @@
+-- Room counts per floor and status, maintained by the services that change a
+-- room's status so occupancy can be read without scanning room.
+CREATE TABLE floor_occupancy (
+	floor_id BIGINT NOT NULL REFERENCES floor (id) ON DELETE CASCADE,
+	status room_status NOT NULL,
+	room_count INTEGER NOT NULL DEFAULT 0,
+	PRIMARY KEY (floor_id, status)
+);
+
+INSERT INTO floor_occupancy (floor_id, status, room_count)
+SELECT floor_id, status, COUNT(*)
+  FROM room
+ GROUP BY floor_id, status;
@@ -0,0 +1,39 @@
+-- A user is requester of at most one open request and counterpart of at most one open request. The partial
+-- unique indexes make that hold under concurrent creates; they replace the plain indexes from V5, which served
+-- the same predicates.
+DROP INDEX ix_floor_request_requester_id_active;
+DROP INDEX ix_floor_request_counterpart_id_active;
+
+-- Rows written before the rule could already hold several open requests per user. Walk the open requests newest
+-- first and keep one only while neither its requester nor its counterpart already has a kept one; cancel the rest
+-- so the indexes can be built.
+DO $$
+DECLARE
+	request RECORD;
+	requesters BIGINT[] := '{}';
+	counterparts BIGINT[] := '{}';
+BEGIN
+	FOR request IN SELECT id, requester_id, counterpart_id
+	                 FROM floor_request
+	                WHERE status IN ('PENDING','ACCEPTED')
+	                ORDER BY id DESC LOOP
+		IF request.requester_id = ANY(requesters) OR request.counterpart_id = ANY(counterparts) THEN
+			UPDATE floor_request
+			   SET status = 'CANCELLED',
+			       closed_reason = 'Superseded by a newer open request',
+			       updated = NOW()
+			 WHERE id = request.id;
+		ELSE
+			requesters := requesters || request.requester_id;
+			IF request.counterpart_id IS NOT NULL THEN
+				counterparts := counterparts || request.counterpart_id;
+			END IF;
+		END IF;
+	END LOOP;
+END
+$$;
+
+CREATE UNIQUE INDEX ux_floor_request_requester_id_active ON floor_request (requester_id)
+	WHERE status IN ('PENDING','ACCEPTED');
+CREATE UNIQUE INDEX ux_floor_request_counterpart_id_active ON floor_request (counterpart_id)
+	WHERE status IN ('PENDING','ACCEPTED');
@@ -0,0 +1,2 @@
+-- Bumped by every update; FloorRequestRepository.update only writes a row whose version is unchanged since it was read.
+ALTER TABLE floor_request ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
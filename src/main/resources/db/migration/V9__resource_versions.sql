@@ -0,0 +1,83 @@
+-- Validators for conditional reads. Every update of a floor, room or user row
+-- bumps its version and moves updated forward from the previous value, so both
+-- only ever grow in the order the row was written: concurrent writers queue on
+-- the row lock and each one starts from what the previous one committed. A room
+-- insert, update or delete also bumps its floor, because floor detail shows the
+-- rooms; that includes the rows changed by ON DELETE cascades. That bump moves
+-- rooms_updated rather than updated, so updated keeps meaning "the floor row
+-- itself changed" for the API and its sort order; floor Last-Modified is the
+-- later of the two.
+ALTER TABLE floor ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE floor ADD COLUMN rooms_updated TIMESTAMP;
+ALTER TABLE room ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE floor_user ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE FUNCTION bump_row_version() RETURNS trigger AS $$
+BEGIN
+	NEW.version := OLD.version + 1;
+	NEW.updated := GREATEST(clock_timestamp()::timestamp, OLD.updated + INTERVAL '1 microsecond');
+	RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION bump_floor_version() RETURNS trigger AS $$
+BEGIN
+	NEW.version := OLD.version + 1;
+	-- Only the room trigger sets rooms_updated, and it changes nothing else.
+	IF NEW.rooms_updated IS NOT DISTINCT FROM OLD.rooms_updated THEN
+		NEW.updated := GREATEST(clock_timestamp()::timestamp, OLD.updated + INTERVAL '1 microsecond',
+		                        OLD.rooms_updated + INTERVAL '1 microsecond');
+	END IF;
+	RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER floor_bump_version BEFORE UPDATE ON floor
+	FOR EACH ROW EXECUTE FUNCTION bump_floor_version();
+CREATE TRIGGER room_bump_version BEFORE UPDATE ON room
+	FOR EACH ROW EXECUTE FUNCTION bump_row_version();
+CREATE TRIGGER floor_user_bump_version BEFORE UPDATE ON floor_user
+	FOR EACH ROW EXECUTE FUNCTION bump_row_version();
+
+-- Floors are locked in id order, like the room and user locks on approval, so
+-- two statements touching the same floors cannot deadlock on them. The lock is
+-- held until commit, so room writes on one floor run one transaction at a time.
+CREATE FUNCTION bump_room_floor_version() RETURNS trigger AS $$
+BEGIN
+	IF TG_OP = 'INSERT' THEN
+		UPDATE floor f
+		   SET version = f.version + 1,
+		       rooms_updated = GREATEST(clock_timestamp()::timestamp, f.updated + INTERVAL '1 microsecond',
+		                                f.rooms_updated + INTERVAL '1 microsecond')
+		  FROM (SELECT id FROM floor WHERE id IN (SELECT floor_id FROM new_room) ORDER BY id FOR UPDATE) touched
+		 WHERE f.id = touched.id;
+	ELSIF TG_OP = 'DELETE' THEN
+		UPDATE floor f
+		   SET version = f.version + 1,
+		       rooms_updated = GREATEST(clock_timestamp()::timestamp, f.updated + INTERVAL '1 microsecond',
+		                                f.rooms_updated + INTERVAL '1 microsecond')
+		  FROM (SELECT id FROM floor WHERE id IN (SELECT floor_id FROM old_room) ORDER BY id FOR UPDATE) touched
+		 WHERE f.id = touched.id;
+	ELSE
+		UPDATE floor f
+		   SET version = f.version + 1,
+		       rooms_updated = GREATEST(clock_timestamp()::timestamp, f.updated + INTERVAL '1 microsecond',
+		                                f.rooms_updated + INTERVAL '1 microsecond')
+		  FROM (SELECT id FROM floor
+		         WHERE id IN (SELECT floor_id FROM new_room UNION SELECT floor_id FROM old_room)
+		         ORDER BY id FOR UPDATE) touched
+		 WHERE f.id = touched.id;
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER room_insert_bump_floor AFTER INSERT ON room
+	REFERENCING NEW TABLE AS new_room
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_room_floor_version();
+CREATE TRIGGER room_update_bump_floor AFTER UPDATE ON room
+	REFERENCING OLD TABLE AS old_room NEW TABLE AS new_room
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_room_floor_version();
+CREATE TRIGGER room_delete_bump_floor AFTER DELETE ON room
+	REFERENCING OLD TABLE AS old_room
+	FOR EACH STATEMENT EXECUTE FUNCTION bump_room_floor_version();
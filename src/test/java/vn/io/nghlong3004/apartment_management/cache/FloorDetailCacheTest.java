@@ -0,0 +1,77 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
+
+class FloorDetailCacheTest {
+
+	private FloorDetailCache floorDetailCache;
+
+	@SuppressWarnings("unchecked")
+	private final Function<Long, FloorResponse> loader = mock(Function.class);
+
+	private FloorResponse sampleFloor(Long id) {
+		return new FloorResponse(id, null, "Floor " + id, 0, List.of(), null);
+	}
+
+	@BeforeEach
+	void setup() {
+		floorDetailCache = new FloorDetailCache(new SimpleMeterRegistry(), 300, 100);
+	}
+
+	@Test
+	@DisplayName("Method: get -> second lookup is served from the cache")
+	void get_WhenCalledTwice_ShouldLoadOnce() {
+		when(loader.apply(1L)).thenReturn(sampleFloor(1L));
+
+		FloorResponse first = floorDetailCache.get(1L, 1L, loader);
+		FloorResponse second = floorDetailCache.get(1L, 1L, loader);
+
+		Assertions.assertSame(first, second);
+		verify(loader, times(1)).apply(1L);
+	}
+
+	@Test
+	@DisplayName("Method: onFloorChanged -> only the changed floor is reloaded")
+	void onFloorChanged_ShouldEvictOnlyThatFloor() {
+		when(loader.apply(1L)).thenReturn(sampleFloor(1L), sampleFloor(1L));
+		when(loader.apply(2L)).thenReturn(sampleFloor(2L));
+		floorDetailCache.get(1L, 1L, loader);
+		floorDetailCache.get(2L, 1L, loader);
+
+		floorDetailCache.onFloorChanged(new FloorChangedEvent(1L));
+		floorDetailCache.get(1L, 1L, loader);
+		floorDetailCache.get(2L, 1L, loader);
+
+		verify(loader, times(2)).apply(1L);
+		verify(loader, times(1)).apply(2L);
+	}
+
+	@Test
+	@DisplayName("Method: get -> a newer version misses even while the old entry is still cached")
+	void get_WhenVersionChangesBeforeEviction_ShouldReload() {
+		FloorResponse stale = sampleFloor(1L);
+		FloorResponse fresh = new FloorResponse(1L, 2L, "Floor 01", 0, List.of(), null);
+		when(loader.apply(1L)).thenReturn(stale, fresh);
+		floorDetailCache.get(1L, 1L, loader);
+
+		FloorResponse got = floorDetailCache.get(1L, 2L, loader);
+
+		Assertions.assertSame(fresh, got);
+		verify(loader, times(2)).apply(1L);
+	}
+}
@@ -0,0 +1,140 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
+
+class FloorSnapshotCacheTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private FloorSnapshotCache floorSnapshotCache;
+
+	@SuppressWarnings("unchecked")
+	private final Supplier<Object> loader = mock(Supplier.class);
+
+	private FloorResponse sampleFloor(Long id, String name) {
+		return new FloorResponse(id, null, name, 0, List.of(), null);
+	}
+
+	@BeforeEach
+	void setup() {
+		floorSnapshotCache = new FloorSnapshotCache(objectMapper, new SimpleMeterRegistry(), 60, 1 << 20, 64);
+	}
+
+	@Test
+	@DisplayName("Method: detail -> same version is encoded once and served as the same bytes")
+	void detail_WhenCalledTwice_ShouldEncodeOnce() throws IOException {
+		FloorResponse floor = sampleFloor(1L, "Floor 1");
+		when(loader.get()).thenReturn(floor);
+
+		JsonSnapshot first = floorSnapshotCache.detail(1L, "W/\"a-1\"", loader);
+		JsonSnapshot second = floorSnapshotCache.detail(1L, "W/\"a-1\"", loader);
+
+		Assertions.assertSame(first, second);
+		Assertions.assertArrayEquals(objectMapper.writeValueAsBytes(floor), first.json());
+		verify(loader, times(1)).get();
+	}
+
+	@Test
+	@DisplayName("Method: detail -> a new ETag is a new entry")
+	void detail_WhenVersionChanges_ShouldReload() {
+		when(loader.get()).thenReturn(sampleFloor(1L, "Floor 1"), sampleFloor(1L, "Floor 01"));
+
+		JsonSnapshot before = floorSnapshotCache.detail(1L, "W/\"a-1\"", loader);
+		JsonSnapshot after = floorSnapshotCache.detail(1L, "W/\"b-1\"", loader);
+
+		Assertions.assertNotSame(before, after);
+		verify(loader, times(2)).get();
+	}
+
+	@Test
+	@DisplayName("Method: onFloorChanged -> drops that floor's detail and every listing, keeps other floors")
+	void onFloorChanged_ShouldEvictFloorAndListings() {
+		when(loader.get()).thenReturn(sampleFloor(1L, "Floor 1"));
+		floorSnapshotCache.detail(1L, "W/\"a-1\"", loader);
+		floorSnapshotCache.detail(2L, "W/\"a-1\"", loader);
+		floorSnapshotCache.list("null|0|20|id,asc|null|true", loader);
+
+		floorSnapshotCache.onFloorChanged(new FloorChangedEvent(1L));
+		floorSnapshotCache.detail(1L, "W/\"a-1\"", loader);
+		floorSnapshotCache.detail(2L, "W/\"a-1\"", loader);
+		floorSnapshotCache.list("null|0|20|id,asc|null|true", loader);
+
+		verify(loader, times(5)).get();
+	}
+
+	@Test
+	@DisplayName("Method: list -> a listing loaded across a floor change is not served afterwards")
+	void list_WhenFloorChangesDuringLoad_ShouldNotServeStaleListing() {
+		String query = "null|0|20|id,asc|null|true";
+		when(loader.get()).thenAnswer(invocation -> {
+			floorSnapshotCache.onFloorChanged(new FloorChangedEvent(1L));
+			return List.of(sampleFloor(1L, "Floor 1"));
+		}).thenReturn(List.of(sampleFloor(1L, "Floor 01")));
+
+		JsonSnapshot stale = floorSnapshotCache.list(query, loader);
+		JsonSnapshot fresh = floorSnapshotCache.list(query, loader);
+
+		Assertions.assertNotSame(stale, fresh);
+		Assertions.assertTrue(new String(fresh.json()).contains("Floor 01"));
+		verify(loader, times(2)).get();
+	}
+
+	@Test
+	@DisplayName("Method: encode -> large bodies carry a gzip copy that inflates to the JSON")
+	void encode_WhenLargeBody_ShouldGzip() throws IOException {
+		JsonSnapshot snapshot = floorSnapshotCache.encode(sampleFloor(1L, String.join("", Collections.nCopies(200, "x"))));
+
+		Assertions.assertNotNull(snapshot.gzip());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+			Assertions.assertArrayEquals(snapshot.json(), in.readAllBytes());
+		}
+	}
+
+	@Test
+	@DisplayName("Method: encode -> small bodies are kept as plain JSON only")
+	void encode_WhenSmallBody_ShouldSkipGzip() {
+		JsonSnapshot snapshot = floorSnapshotCache.encode(List.of());
+
+		Assertions.assertNull(snapshot.gzip());
+	}
+
+	@Test
+	@DisplayName("Method: toResponse -> gzip only when the client accepts it")
+	void toResponse_ShouldNegotiateGzip() {
+		JsonSnapshot snapshot = new JsonSnapshot(new byte[] { '{', '}' }, new byte[] { 1, 2, 3 });
+
+		ResponseEntity<byte[]> gzip = snapshot.toResponse("br, gzip;q=0.8");
+		ResponseEntity<byte[]> identity = snapshot.toResponse("gzip;q=0");
+		ResponseEntity<byte[]> none = snapshot.toResponse(null);
+
+		Assertions.assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		Assertions.assertArrayEquals(snapshot.gzip(), gzip.getBody());
+		Assertions.assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+		Assertions.assertArrayEquals(snapshot.json(), identity.getBody());
+		Assertions.assertArrayEquals(snapshot.json(), none.getBody());
+		Assertions.assertEquals(HttpHeaders.ACCEPT_ENCODING, none.getHeaders().getFirst(HttpHeaders.VARY));
+	}
+}
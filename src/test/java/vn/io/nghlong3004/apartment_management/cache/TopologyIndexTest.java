@@ -0,0 +1,147 @@
+package vn.io.nghlong3004.apartment_management.cache;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorSummary;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+
+class TopologyIndexTest {
+
+	private final RoomRepository roomRepository = mock(RoomRepository.class);
+	private final FloorRepository floorRepository = mock(FloorRepository.class);
+
+	private TopologyIndex topologyIndex;
+
+	@BeforeEach
+	void setup() {
+		topologyIndex = new TopologyIndex(roomRepository, floorRepository, new SimpleMeterRegistry());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Cursor<T> cursorOf(List<T> rows) {
+		Cursor<T> cursor = mock(Cursor.class);
+		when(cursor.iterator()).thenReturn(rows.iterator());
+		return cursor;
+	}
+
+	@Test
+	@DisplayName("Method: floorOfRoom -> second lookup is served from the index")
+	void floorOfRoom_WhenCalledTwice_ShouldReadOnce() {
+		when(roomRepository.findById(7L)).thenReturn(Optional.of(Room.builder().id(7L).floorId(3L).build()));
+
+		Assertions.assertEquals(3L, topologyIndex.floorOfRoom(7L));
+		Assertions.assertEquals(3L, topologyIndex.floorOfRoom(7L));
+
+		verify(roomRepository, times(1)).findById(7L);
+	}
+
+	@Test
+	@DisplayName("Method: floorOfRoom -> unknown room returns NONE and is not cached")
+	void floorOfRoom_WhenRoomMissing_ShouldReturnNone() {
+		when(roomRepository.findById(7L)).thenReturn(Optional.empty());
+
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.floorOfRoom(7L));
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.floorOfRoom(7L));
+
+		verify(roomRepository, times(2)).findById(7L);
+	}
+
+	@Test
+	@DisplayName("Method: managerOfFloor -> floor without a manager is cached as NONE")
+	void managerOfFloor_WhenNoManager_ShouldCacheNone() {
+		when(floorRepository.findById(3L)).thenReturn(Optional.of(Floor.builder().id(3L).build()));
+
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.managerOfFloor(3L));
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.managerOfFloor(3L));
+
+		verify(floorRepository, times(1)).findById(3L);
+	}
+
+	@Test
+	@DisplayName("Method: managerChanged -> outside a transaction the change applies at once")
+	void managerChanged_ShouldOverrideCachedManager() {
+		when(floorRepository.findById(3L)).thenReturn(Optional.of(Floor.builder().id(3L).managerId(1L).build()));
+		topologyIndex.managerOfFloor(3L);
+
+		topologyIndex.managerChanged(3L, 2L);
+
+		Assertions.assertEquals(2L, topologyIndex.managerOfFloor(3L));
+		verify(floorRepository, times(1)).findById(3L);
+	}
+
+	@Test
+	@DisplayName("Method: roomRemoved -> room is forgotten")
+	void roomRemoved_ShouldDropRoom() {
+		when(roomRepository.findById(7L)).thenReturn(Optional.of(Room.builder().id(7L).floorId(3L).build()),
+				Optional.empty());
+		topologyIndex.floorOfRoom(7L);
+
+		topologyIndex.roomRemoved(7L);
+
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.floorOfRoom(7L));
+	}
+
+	@Test
+	@DisplayName("Method: rebuild -> index is loaded from the floor and room cursors")
+	void rebuild_ShouldLoadFromCursors() {
+		Cursor<FloorSummary> floors = cursorOf(List.of(FloorSummary.builder().id(3L).managerId(2L).build(),
+				FloorSummary.builder().id(4L).build()));
+		Cursor<RoomResponse> rooms = cursorOf(List.of(new RoomResponse(7L, 3L, 10L, "Floor 3-1", RoomStatus.SOLD),
+				new RoomResponse(8L, 4L, null, "Floor 4-1", RoomStatus.AVAILABLE)));
+		when(floorRepository.streamAll()).thenReturn(floors);
+		when(roomRepository.streamAll()).thenReturn(rooms);
+
+		topologyIndex.rebuild();
+
+		Assertions.assertEquals(3L, topologyIndex.floorOfRoom(7L));
+		Assertions.assertEquals(4L, topologyIndex.floorOfRoom(8L));
+		Assertions.assertEquals(2L, topologyIndex.managerOfFloor(3L));
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.managerOfFloor(4L));
+		verify(roomRepository, never()).findById(7L);
+		verify(floorRepository, never()).findById(3L);
+	}
+
+	@Test
+	@DisplayName("Method: rebuild -> changes written while loading are replayed onto the fresh index")
+	@SuppressWarnings("unchecked")
+	void rebuild_WhenWrittenDuringLoad_ShouldReplayChanges() {
+		Cursor<FloorSummary> floors = cursorOf(List.of(FloorSummary.builder().id(3L).managerId(2L).build()));
+		Cursor<RoomResponse> rooms = mock(Cursor.class);
+		when(rooms.iterator()).thenAnswer(invocation -> {
+			topologyIndex.managerChanged(3L, 5L);
+			topologyIndex.roomRemoved(8L);
+			return List.of(new RoomResponse(7L, 3L, 10L, "Floor 3-1", RoomStatus.SOLD),
+					new RoomResponse(8L, 3L, null, "Floor 3-2", RoomStatus.AVAILABLE)).iterator();
+		});
+		when(floorRepository.streamAll()).thenReturn(floors);
+		when(roomRepository.streamAll()).thenReturn(rooms);
+		when(roomRepository.findById(8L)).thenReturn(Optional.empty());
+
+		topologyIndex.rebuild();
+
+		Assertions.assertEquals(5L, topologyIndex.managerOfFloor(3L));
+		Assertions.assertEquals(3L, topologyIndex.floorOfRoom(7L));
+		Assertions.assertEquals(TopologyIndex.NONE, topologyIndex.floorOfRoom(8L));
+		verify(floorRepository, never()).findById(3L);
+		verify(roomRepository, never()).findById(7L);
+	}
+}
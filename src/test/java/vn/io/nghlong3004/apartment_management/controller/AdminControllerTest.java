@@ -0,0 +1,108 @@
+package vn.io.nghlong3004.apartment_management.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import vn.io.nghlong3004.apartment_management.config.SecurityConfig;
+import vn.io.nghlong3004.apartment_management.model.ExportFormat;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
+import vn.io.nghlong3004.apartment_management.model.UserPrincipal;
+import vn.io.nghlong3004.apartment_management.security.AuthRateLimitFilter;
+import vn.io.nghlong3004.apartment_management.security.CustomAccessDeniedHandler;
+import vn.io.nghlong3004.apartment_management.security.JwtAuthenticationEntryPoint;
+import vn.io.nghlong3004.apartment_management.service.AdminService;
+import vn.io.nghlong3004.apartment_management.service.ExportService;
+import vn.io.nghlong3004.apartment_management.service.JWTService;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
+import vn.io.nghlong3004.apartment_management.service.impl.UserDetailsServiceImpl;
+
+@WebMvcTest(controllers = AdminController.class, excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = AuthRateLimitFilter.class))
+@Import({ SecurityConfig.class, JwtAuthenticationEntryPoint.class, CustomAccessDeniedHandler.class })
+class AdminControllerTest {
+
+	private static final String TOKEN = "admin-token";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private AdminService mockAdminService;
+
+	@MockitoBean
+	private ExportService mockExportService;
+
+	@MockitoBean
+	private OccupancyService mockOccupancyService;
+
+	@MockitoBean
+	private JWTService mockJwtService;
+
+	@MockitoBean
+	private UserDetailsServiceImpl mockUserDetailsService;
+
+	@MockitoBean
+	private TokenRevocationService mockTokenRevocationService;
+
+	private void authenticateAsAdmin() {
+		List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+		JwtClaims claims = new JwtClaims(1L, List.of("ADMIN"), authorities, Instant.now(),
+				Instant.now().plusSeconds(60));
+		when(mockJwtService.verify(TOKEN)).thenReturn(claims);
+		when(mockUserDetailsService.loadUser(claims)).thenReturn(new UserPrincipal(1L, null, authorities));
+	}
+
+	@Test
+	@DisplayName("GET /api/v1/admin/export/floors -> async dispatch should stream the body for an admin")
+	void exportFloors_WhenAdmin_ShouldStreamOnAsyncDispatch() throws Exception {
+		authenticateAsAdmin();
+		when(mockExportService.exportFloors(eq(ExportFormat.NDJSON), any(OutputStream.class))).thenAnswer(invocation -> {
+			invocation.getArgument(1, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+			return 1L;
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/v1/admin/export/floors").header(HttpHeaders.AUTHORIZATION,
+				"Bearer " + TOKEN)).andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"floors.ndjson\""))
+				.andExpect(content().string("{\"id\":1}\n"));
+	}
+
+	@Test
+	@DisplayName("GET /api/v1/admin/export/floors -> should reject an anonymous request before streaming")
+	void exportFloors_WhenAnonymous_ShouldBeUnauthorized() throws Exception {
+		mockMvc.perform(get("/api/v1/admin/export/floors")).andExpect(status().isUnauthorized())
+				.andExpect(request().asyncNotStarted());
+
+		verify(mockExportService, never()).exportFloors(any(), any());
+	}
+}
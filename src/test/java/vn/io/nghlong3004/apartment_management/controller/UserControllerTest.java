@@ -2,9 +2,11 @@ package vn.io.nghlong3004.apartment_management.controller;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Timestamp;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Assertions;
@@ -16,16 +18,24 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.ResourceVersion;
 import vn.io.nghlong3004.apartment_management.model.dto.UserDto;
 import vn.io.nghlong3004.apartment_management.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
 class UserControllerTest {
 
+	private static final Timestamp UPDATED = Timestamp.valueOf("2025-01-01 10:00:00.123456");
+
 	@Mock
 	private UserService mockUserService;
 
@@ -46,22 +56,46 @@ class UserControllerTest {
 		Long id = 10L;
 		UserDto expected = sampleUserDto();
 
+		when(mockUserService.getUserVersion(id)).thenReturn(new ResourceVersion(1, UPDATED));
 		when(mockUserService.getUser(id)).thenReturn(expected);
 
-		UserDto response = userController.getProfile(id);
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+		ResponseEntity<UserDto> response = userController.getProfile(id,
+				new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/user/" + id), servletResponse));
 
 		verify(mockUserService).getUser(id);
-		Assertions.assertEquals(expected, response);
+		Assertions.assertEquals(expected, response.getBody());
+		Assertions.assertEquals(new ResourceVersion(1, UPDATED).etag(), servletResponse.getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	@DisplayName("GET /api/v1/user/{id} -> should answer 304 without loading the user when the ETag matches")
+	void getProfile_WhenETagMatches_ShouldReturnNotModified() {
+		Long id = 11L;
+		ResourceVersion version = new ResourceVersion(1, UPDATED);
+		when(mockUserService.getUserVersion(id)).thenReturn(version);
+
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/v1/user/" + id);
+		servletRequest.addHeader(HttpHeaders.IF_NONE_MATCH, version.etag());
+		MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+		ResponseEntity<UserDto> response = userController.getProfile(id,
+				new ServletWebRequest(servletRequest, servletResponse));
+
+		Assertions.assertNull(response);
+		Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(), servletResponse.getStatus());
+		verify(mockUserService, never()).getUser(id);
 	}
 
 	@Test
 	@DisplayName("GET /api/v1/user/{id} -> should throw when user not found")
 	void getProfile_ShouldThrowWhenNotFound() {
 		Long id = 999L;
-		when(mockUserService.getUser(id))
+		when(mockUserService.getUserVersion(id))
 				.thenThrow(new ResourceException(HttpStatus.BAD_REQUEST, ErrorMessageConstant.ENDPOINT_NOT_FOUND));
 
-		Assertions.assertThrows(ResourceException.class, () -> userController.getProfile(id));
+		Assertions.assertThrows(ResourceException.class, () -> userController.getProfile(id,
+				new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())));
 	}
 
 	@Test
@@ -124,9 +158,12 @@ class UserControllerTest {
 		Long id = 55L;
 		UserDto emptyDto = UserDto.builder().build();
 
+		when(mockUserService.getUserVersion(id)).thenReturn(new ResourceVersion(1, UPDATED));
 		when(mockUserService.getUser(id)).thenReturn(emptyDto);
 
-		UserDto result = userController.getProfile(id);
+		UserDto result = userController
+				.getProfile(id, new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse()))
+				.getBody();
 
 		Assertions.assertNotNull(result);
 		Assertions.assertNull(result.getEmail());
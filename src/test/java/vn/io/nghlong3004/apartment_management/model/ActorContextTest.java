@@ -0,0 +1,53 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongUnaryOperator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class ActorContextTest {
+
+	@Test
+	@DisplayName("Method: of -> granted roles are set in the mask, unknown authorities are ignored")
+	void of_ShouldMapAuthoritiesToRoles() {
+		ActorContext actor = ActorContext.of(1L,
+				List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("SCOPE_read")));
+
+		Assertions.assertTrue(actor.isAdmin());
+		Assertions.assertFalse(actor.hasRole(Role.MANAGER));
+		Assertions.assertTrue(actor.isSelf(1L));
+		Assertions.assertFalse(actor.isSelf(2L));
+	}
+
+	@Test
+	@DisplayName("Method: managesFloor -> each floor is resolved once per actor")
+	void managesFloor_WhenAskedTwice_ShouldResolveOnce() {
+		ActorContext actor = ActorContext.of(5L, List.of(new SimpleGrantedAuthority("ROLE_MANAGER")));
+		AtomicInteger calls = new AtomicInteger();
+		LongUnaryOperator managerOfFloor = floorId -> {
+			calls.incrementAndGet();
+			return floorId == 3L ? 5L : 6L;
+		};
+
+		Assertions.assertTrue(actor.managesFloor(3L, managerOfFloor));
+		Assertions.assertTrue(actor.managesFloor(3L, managerOfFloor));
+		Assertions.assertFalse(actor.managesFloor(4L, managerOfFloor));
+		Assertions.assertFalse(actor.managesFloor(4L, managerOfFloor));
+		Assertions.assertEquals(2, calls.get());
+	}
+
+	@Test
+	@DisplayName("Method: managesFloor -> non-managers never resolve the floor")
+	void managesFloor_WhenNotManager_ShouldReturnFalse() {
+		ActorContext actor = ActorContext.of(5L, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+		Assertions.assertFalse(actor.managesFloor(3L, floorId -> {
+			throw new AssertionError("resolved");
+		}));
+		Assertions.assertFalse(ActorContext.ANONYMOUS.isSelf(null));
+	}
+}
@@ -0,0 +1,56 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+
+class PageCursorTest {
+
+	private final Set<String> columns = Set.of("id", "name", "created");
+
+	@Test
+	@DisplayName("Method: decode -> round-trips column, direction and position, including '|' in the value")
+	void decode_WhenEncoded_ShouldRoundTrip() {
+		PageCursor cursor = new PageCursor("name", true, true, "Room|1-01", 42L);
+
+		PageCursor decoded = PageCursor.decode(cursor.encode(), columns);
+
+		Assertions.assertEquals(cursor, decoded);
+	}
+
+	@Test
+	@DisplayName("Method: decode -> rejects garbage and columns outside the allowed set")
+	void decode_WhenInvalid_ShouldThrowBadRequest() {
+		String otherColumn = new PageCursor("room_count", false, false, "3", 1L).encode();
+
+		for (String token : new String[] { "not-a-cursor", "%%%", otherColumn }) {
+			ResourceException ex = Assertions.assertThrows(ResourceException.class,
+					() -> PageCursor.decode(token, columns));
+			Assertions.assertEquals(ErrorMessageConstant.INVALID_CURSOR, ex.getMessage());
+		}
+	}
+
+	@Test
+	@DisplayName("Method: start -> keyset is unavailable for columns outside the allowed set")
+	void start_WhenColumnNotKeysetable_ShouldReturnNull() {
+		Assertions.assertNull(PageCursor.start("manager_id ASC", columns));
+		Assertions.assertEquals(new PageCursor("created", true, false, null, null),
+				PageCursor.start("created DESC", columns));
+	}
+
+	@Test
+	@DisplayName("Method: direction/operator -> backward cursor walks the reverse order")
+	void direction_WhenBackward_ShouldReverse() {
+		PageCursor ascending = new PageCursor("id", false, false, "5", 5L);
+
+		Assertions.assertEquals("ASC", ascending.direction());
+		Assertions.assertEquals(">", ascending.operator());
+		Assertions.assertEquals("DESC", ascending.before("5", 5L).direction());
+		Assertions.assertEquals("<", ascending.before("5", 5L).operator());
+	}
+}
@@ -0,0 +1,33 @@
+package vn.io.nghlong3004.apartment_management.model;
+
+import java.sql.Timestamp;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ResourceVersionTest {
+
+	private static final Timestamp UPDATED = Timestamp.valueOf("2025-01-01 10:00:00.123456");
+
+	@Test
+	@DisplayName("Method: etag -> weak tag is stable for the same version")
+	void etag_WhenVersionIsEqual_ShouldBeEqual() {
+		String etag = new ResourceVersion(3, UPDATED).etag();
+
+		Assertions.assertTrue(etag.startsWith("W/\""));
+		Assertions.assertEquals(etag, new ResourceVersion(3, Timestamp.valueOf("2025-01-01 10:00:00")).etag());
+	}
+
+	@Test
+	@DisplayName("Method: etag -> a bumped version changes the tag")
+	void etag_WhenVersionChanges_ShouldChange() {
+		Assertions.assertNotEquals(new ResourceVersion(3, UPDATED).etag(), new ResourceVersion(4, UPDATED).etag());
+	}
+
+	@Test
+	@DisplayName("Method: lastModified -> uses the updated column")
+	void lastModified_ShouldUseUpdated() {
+		Assertions.assertEquals(UPDATED.getTime(), new ResourceVersion(3, UPDATED).lastModified());
+	}
+}
@@ -0,0 +1,161 @@
+package vn.io.nghlong3004.apartment_management.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.FloorRequest;
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+import vn.io.nghlong3004.apartment_management.model.RequestStatus;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.User;
+
+/**
+ * Runs EXPLAIN for every filtered mapper statement with sequential scans disabled, so a statement that still
+ * plans a Seq Scan has no index able to serve it. Unfiltered statements (countAll, streamAll, the first offset
+ * page) legitimately read the whole table and are not listed.
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+public class QueryPlanTest {
+
+	private static final String REPOSITORY = "vn.io.nghlong3004.apartment_management.repository.";
+
+	@Autowired
+	private SqlSessionFactory sqlSessionFactory;
+
+	@Autowired
+	private DataSource dataSource;
+
+	static Stream<Arguments> statements() {
+		PageCursor floorCursor = PageCursor.start("name ASC", Set.of("id", "name")).after("Floor 1", 1L);
+		PageCursor roomCursor = PageCursor.start("created DESC", Set.of("id", "created"))
+				.after("2025-01-01 00:00:00", 1L);
+		PageCursor requestCursor = PageCursor.start("updated ASC", Set.of("id", "updated"))
+				.before("2025-01-01 00:00:00", 1L);
+		Floor floor = Floor.builder().id(1L).name("Floor 1").roomCount(0).build();
+		Room room = Room.builder().id(1L).floorId(1L).name("Floor 1-1").status(RoomStatus.AVAILABLE).build();
+		FloorRequest request = FloorRequest.builder().id(1L).requesterId(1L).status(RequestStatus.PENDING).build();
+		User user = User.builder().id(1L).email("user@example.com").firstName("a").lastName("b").build();
+
+		return Stream.of(Arguments.of("FloorRepository.findById", 1L),
+				Arguments.of("FloorRepository.findByName", "Floor 1"),
+				Arguments.of("FloorRepository.findSummaryByName", "Floor 1"),
+				Arguments.of("FloorRepository.updateFloor", floor), Arguments.of("FloorRepository.deleteById", 1L),
+				Arguments.of("FloorRepository.floorExists", 1L),
+				Arguments.of("FloorRepository.findVersionById", 1L),
+				Arguments.of("FloorRepository.incrementRoomCount", 1L),
+				Arguments.of("FloorRepository.decrementRoomCount", 1L),
+				Arguments.of("FloorRepository.allocateRoomNumbers", params("floorId", 1L, "count", 1)),
+				Arguments.of("FloorRepository.findPage", params("orderBy", "name ASC", "limit", 21, "offset", 20)),
+				Arguments.of("FloorRepository.findPageByCursor", params("cursor", floorCursor, "limit", 21)),
+				Arguments.of("FloorRepository.updateManager", params("floorId", 1L, "managerId", 1L)),
+				Arguments.of("FloorRepository.managerIdExists", 1L),
+				Arguments.of("RoomRepository.findRoomByFloorIdAndRoomId", params("floorId", 1L, "roomId", 1L)),
+				Arguments.of("RoomRepository.findResponseByFloorIdAndRoomId", params("floorId", 1L, "roomId", 1L)),
+				Arguments.of("RoomRepository.findVersionByFloorIdAndRoomId", params("floorId", 1L, "roomId", 1L)),
+				Arguments.of("RoomRepository.updateRoom", room),
+				Arguments.of("RoomRepository.lockByIds", params("roomIds", List.of(1L, 2L))),
+				Arguments.of("RoomRepository.reassignOwners", params("rooms", List.of(room))),
+				Arguments.of("RoomRepository.findAllRoomsByFloorId", 1L),
+				Arguments.of("RoomRepository.findFirstResponsesByFloorId", params("floorId", 1L, "limit", 51)),
+				Arguments.of("RoomRepository.streamResponsesByFloorId", 1L),
+				Arguments.of("RoomRepository.existsByFloorIdAndRoomId", params("floorId", 1L, "roomId", 1L)),
+				Arguments.of("RoomRepository.deleteByIdAndFloorId", params("roomId", 1L, "floorId", 1L)),
+				Arguments.of("RoomRepository.findByFloorIdAndName", params("floorId", 1L, "name", "Floor 1-1")),
+				Arguments.of("RoomRepository.findResponseByFloorIdAndName",
+						params("floorId", 1L, "name", "Floor 1-1")),
+				Arguments.of("RoomRepository.countByFloorId", 1L),
+				Arguments.of("RoomRepository.findPageByFloorId",
+						params("floorId", 1L, "orderBy", "name DESC", "limit", 21, "offset", 20)),
+				Arguments.of("RoomRepository.findPageByFloorIdAndCursor",
+						params("floorId", 1L, "cursor", roomCursor, "limit", 21)),
+				Arguments.of("RoomRepository.findById", 1L), Arguments.of("RoomRepository.findByUserId", 1L),
+				Arguments.of("FloorRequestRepository.findById", 1L),
+				Arguments.of("FloorRequestRepository.findCreateFacts",
+						params("requesterId", 1L, "requesterRoomId", 1L, "counterpartId", 2L, "counterpartRoomId", 2L)),
+				Arguments.of("FloorRequestRepository.insert", request),
+				Arguments.of("FloorRequestRepository.update", request),
+				Arguments.of("FloorRequestRepository.findPageByCursor", params("cursor", requestCursor, "limit", 21)),
+				Arguments.of("OccupancyRepository.adjust", params("floorId", 1L, "status", RoomStatus.SOLD, "delta", 1)),
+				Arguments.of("OccupancyRepository.move",
+						params("floorId", 1L, "from", RoomStatus.AVAILABLE, "to", RoomStatus.SOLD)),
+				Arguments.of("OccupancyRepository.findByFloorId", 1L),
+				Arguments.of("UserRepository.existsByEmail", "user@example.com"),
+				Arguments.of("UserRepository.findByEmail", "user@example.com"),
+				Arguments.of("UserRepository.findPasswordByEmail", "user@example.com"),
+				Arguments.of("UserRepository.findById", 1L), Arguments.of("UserRepository.findProfileById", 1L),
+				Arguments.of("UserRepository.findVersionById", 1L),
+				Arguments.of("UserRepository.update", user),
+				Arguments.of("UserRepository.lockByIds", params("userIds", List.of(1L, 2L))),
+				Arguments.of("UserRepository.delete", 1L),
+				Arguments.of("RefreshTokenRepository.findByTokenHash", new byte[32]),
+				Arguments.of("RefreshTokenRepository.deleteByUserId", 1L),
+				Arguments.of("RefreshTokenRepository.deleteExpired", params("now", Instant.now(), "limit", 500)),
+				Arguments.of("TokenRevocationRepository.findRevokedBefore", 1L),
+				Arguments.of("TokenRevocationRepository.findUpdatedSince", Instant.now()),
+				Arguments.of("TokenRevocationRepository.deleteRevokedBefore", Instant.now()));
+	}
+
+	private static ParamMap<Object> params(Object... namesAndValues) {
+		ParamMap<Object> params = new ParamMap<>();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			params.put((String) namesAndValues[i], namesAndValues[i + 1]);
+		}
+		return params;
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("statements")
+	void statement_ShouldNotPlanSeqScan(String statementId, Object parameter) throws SQLException {
+		String plan = explain(statementId, parameter);
+
+		Assertions.assertThat(plan).as(plan).doesNotContain("Seq Scan");
+	}
+
+	private String explain(String statementId, Object parameter) throws SQLException {
+		MappedStatement statement = sqlSessionFactory.getConfiguration().getMappedStatement(REPOSITORY + statementId);
+		BoundSql boundSql = statement.getBoundSql(parameter);
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+
+		try (Statement session = connection.createStatement()) {
+			session.execute("SET LOCAL enable_seqscan = off");
+		}
+		try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + boundSql.getSql())) {
+			new DefaultParameterHandler(statement, parameter, boundSql).setParameters(ps);
+			StringJoiner plan = new StringJoiner("\n");
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					plan.add(rs.getString(1));
+				}
+			}
+			return plan.toString();
+		}
+	}
+}
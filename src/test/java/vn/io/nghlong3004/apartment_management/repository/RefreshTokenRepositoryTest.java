@@ -18,6 +18,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 
 import vn.io.nghlong3004.apartment_management.model.RefreshToken;
+import vn.io.nghlong3004.apartment_management.util.DigestUtil;
 
 @MybatisTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -46,29 +47,31 @@ public class RefreshTokenRepositoryTest {
 	}
 
 	@Test
-	@DisplayName("Method: FindByToken -> Null")
+	@DisplayName("Method: FindByTokenHash -> Null")
 	void findByToken_WhenTokenDoesNotExistShould_ReturnNull() {
 		for (int i = 0; i < maxTestCaseAll; ++i) {
 			String token = UUID.randomUUID().toString();
-			RefreshToken refreshToken = refreshTokenRepository.findByToken(token).orElse(null);
+			RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(DigestUtil.sha256(token)).orElse(null);
 			Assertions.assertThat(refreshToken).isNull();
 		}
 	}
 
 	@Test
-	@DisplayName("Method: FindByToken -> RefreshToken")
+	@DisplayName("Method: FindByTokenHash -> RefreshToken")
 	void findByToken_WhenTokenDoesNotExistShould_ReturnRefreshToken() {
 		for (int i = 0; i < maxTestCaseAll; ++i) {
 			RefreshToken oldRefreshToken = createRefreshToken();
-			refreshTokenRepository.save(oldRefreshToken.getUserId(), oldRefreshToken.getToken(),
+			refreshTokenRepository.save(oldRefreshToken.getUserId(), DigestUtil.sha256(oldRefreshToken.getToken()),
 					oldRefreshToken.getExpiryDate());
-			RefreshToken refreshToken = refreshTokenRepository.findByToken(oldRefreshToken.getToken()).orElse(null);
+			RefreshToken refreshToken = refreshTokenRepository
+					.findByTokenHash(DigestUtil.sha256(oldRefreshToken.getToken())).orElse(null);
 
 			Assertions.assertThat(refreshToken.getExpiryDate()).isCloseTo(oldRefreshToken.getExpiryDate(),
 					within(100, ChronoUnit.MILLIS));
 			refreshToken.setExpiryDate(null);
 			oldRefreshToken.setExpiryDate(null);
 			refreshToken.setId(null);
+			oldRefreshToken.setToken(null);
 			Assertions.assertThat(refreshToken).isEqualTo(oldRefreshToken);
 		}
 	}
@@ -78,14 +81,15 @@ public class RefreshTokenRepositoryTest {
 	void deleteByUserId_ShouldDeleteRefreshTokenByUserId() {
 		for (int i = 0; i < maxTestCaseAll; ++i) {
 			RefreshToken oldRefreshToken = createRefreshToken();
-			refreshTokenRepository.save(oldRefreshToken.getUserId(), oldRefreshToken.getToken(),
+			refreshTokenRepository.save(oldRefreshToken.getUserId(), DigestUtil.sha256(oldRefreshToken.getToken()),
 					oldRefreshToken.getExpiryDate());
-			RefreshToken refreshToken = refreshTokenRepository.findByToken(oldRefreshToken.getToken()).orElse(null);
+			RefreshToken refreshToken = refreshTokenRepository
+					.findByTokenHash(DigestUtil.sha256(oldRefreshToken.getToken())).orElse(null);
 			Assertions.assertThat(refreshToken).isNotNull();
 
 			refreshTokenRepository.deleteByUserId(oldRefreshToken.getUserId());
-			RefreshToken deletedRefreshToken = refreshTokenRepository.findByToken(oldRefreshToken.getToken())
-					.orElse(null);
+			RefreshToken deletedRefreshToken = refreshTokenRepository
+					.findByTokenHash(DigestUtil.sha256(oldRefreshToken.getToken())).orElse(null);
 			Assertions.assertThat(deletedRefreshToken).isNull();
 
 		}
@@ -102,16 +106,16 @@ public class RefreshTokenRepositoryTest {
 			String t1 = UUID.randomUUID().toString();
 			String t2 = UUID.randomUUID().toString();
 
-			refreshTokenRepository.save(userId, t1, exp1);
-			refreshTokenRepository.save(userId, t2, exp2);
+			refreshTokenRepository.save(userId, DigestUtil.sha256(t1), exp1);
+			refreshTokenRepository.save(userId, DigestUtil.sha256(t2), exp2);
 
-			Assertions.assertThat(refreshTokenRepository.findByToken(t1)).isPresent();
-			Assertions.assertThat(refreshTokenRepository.findByToken(t2)).isPresent();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(t1))).isPresent();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(t2))).isPresent();
 
 			refreshTokenRepository.deleteByUserId(userId);
 
-			Assertions.assertThat(refreshTokenRepository.findByToken(t1)).isEmpty();
-			Assertions.assertThat(refreshTokenRepository.findByToken(t2)).isEmpty();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(t1))).isEmpty();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(t2))).isEmpty();
 		}
 	}
 
@@ -126,13 +130,13 @@ public class RefreshTokenRepositoryTest {
 			String tB = UUID.randomUUID().toString();
 
 			Instant exp = Instant.now(Clock.systemUTC()).plusSeconds(600);
-			refreshTokenRepository.save(userA, tA, exp);
-			refreshTokenRepository.save(userB, tB, exp);
+			refreshTokenRepository.save(userA, DigestUtil.sha256(tA), exp);
+			refreshTokenRepository.save(userB, DigestUtil.sha256(tB), exp);
 
 			refreshTokenRepository.deleteByUserId(userA);
 
-			Assertions.assertThat(refreshTokenRepository.findByToken(tA)).isEmpty();
-			Assertions.assertThat(refreshTokenRepository.findByToken(tB)).isPresent();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(tA))).isEmpty();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(tB))).isPresent();
 		}
 	}
 
@@ -144,13 +148,13 @@ public class RefreshTokenRepositoryTest {
 			String token = UUID.randomUUID().toString();
 
 			Instant past = Instant.now(Clock.systemUTC()).minusSeconds(300);
-			refreshTokenRepository.save(userId, token, past);
+			refreshTokenRepository.save(userId, DigestUtil.sha256(token), past);
 
-			RefreshToken found = refreshTokenRepository.findByToken(token).orElse(null);
+			RefreshToken found = refreshTokenRepository.findByTokenHash(DigestUtil.sha256(token)).orElse(null);
 			Assertions.assertThat(found).isNotNull();
 			Assertions.assertThat(found.getExpiryDate()).isCloseTo(past, within(50, ChronoUnit.MILLIS));
 			Assertions.assertThat(found.getUserId()).isEqualTo(userId);
-			Assertions.assertThat(found.getToken()).isEqualTo(token);
+			Assertions.assertThat(found.getToken()).isNull();
 		}
 	}
 
@@ -163,10 +167,10 @@ public class RefreshTokenRepositoryTest {
 			String other = UUID.randomUUID().toString();
 
 			Instant exp = Instant.now(Clock.systemUTC()).plusSeconds(600);
-			refreshTokenRepository.save(userId, exact, exp);
+			refreshTokenRepository.save(userId, DigestUtil.sha256(exact), exp);
 
-			Assertions.assertThat(refreshTokenRepository.findByToken(exact)).isPresent();
-			Assertions.assertThat(refreshTokenRepository.findByToken(other)).isEmpty();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(exact))).isPresent();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(other))).isEmpty();
 		}
 	}
 
@@ -180,12 +184,31 @@ public class RefreshTokenRepositoryTest {
 			String token = UUID.randomUUID().toString();
 			Instant exp = Instant.now(Clock.systemUTC()).plusSeconds(600);
 
-			refreshTokenRepository.save(existingUser, token, exp);
+			refreshTokenRepository.save(existingUser, DigestUtil.sha256(token), exp);
 
 			refreshTokenRepository.deleteByUserId(nonExisting);
 
-			Assertions.assertThat(refreshTokenRepository.findByToken(token)).isPresent();
+			Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(token))).isPresent();
 		}
 	}
 
+	@Test
+	@DisplayName("Method: deleteExpired -> removes at most limit expired tokens and keeps live ones")
+	void deleteExpired_ShouldRemoveOnlyExpiredTokensUpToLimit() {
+		Long userId = Math.abs(new Random().nextLong());
+		Instant now = Instant.now(Clock.systemUTC());
+		String live = UUID.randomUUID().toString();
+		refreshTokenRepository.save(userId, DigestUtil.sha256(live), now.plusSeconds(600));
+		for (int i = 0; i < 3; ++i) {
+			refreshTokenRepository.save(userId, DigestUtil.sha256(UUID.randomUUID().toString()),
+					now.minusSeconds(600));
+		}
+
+		int deleted = refreshTokenRepository.deleteExpired(now, 2);
+
+		Assertions.assertThat(deleted).isEqualTo(2);
+		Assertions.assertThat(refreshTokenRepository.deleteExpired(now, 1000)).isGreaterThanOrEqualTo(1);
+		Assertions.assertThat(refreshTokenRepository.findByTokenHash(DigestUtil.sha256(live))).isPresent();
+	}
+
 }
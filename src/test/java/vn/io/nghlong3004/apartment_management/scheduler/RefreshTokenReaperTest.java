@@ -0,0 +1,55 @@
+package vn.io.nghlong3004.apartment_management.scheduler;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.service.RefreshTokenService;
+
+class RefreshTokenReaperTest {
+
+	private final RefreshTokenService refreshTokenService = Mockito.mock(RefreshTokenService.class);
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private RefreshTokenReaper reaper;
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		reaper = new RefreshTokenReaper(refreshTokenService, meterRegistry);
+		ReflectionTestUtils.setField(reaper, "batchSize", 100);
+		ReflectionTestUtils.setField(reaper, "maxBatches", 5);
+	}
+
+	@Test
+	@DisplayName("Method: reap -> keeps deleting full batches and stops at the first partial one")
+	void reap_ShouldStopAfterPartialBatch() {
+		when(refreshTokenService.deleteExpiredBatch(100)).thenReturn(100, 100, 30);
+
+		reaper.reap();
+
+		verify(refreshTokenService, times(3)).deleteExpiredBatch(100);
+		Assertions.assertEquals(230.0, meterRegistry.get("refresh_token.reaper.deleted").counter().count());
+		Assertions.assertEquals(3, meterRegistry.get("refresh_token.reaper.batch").timer().count());
+	}
+
+	@Test
+	@DisplayName("Method: reap -> never runs more than max batches in one sweep")
+	void reap_ShouldRespectMaxBatches() {
+		when(refreshTokenService.deleteExpiredBatch(100)).thenReturn(100);
+
+		reaper.reap();
+
+		verify(refreshTokenService, times(5)).deleteExpiredBatch(100);
+		Assertions.assertEquals(500.0, meterRegistry.get("refresh_token.reaper.deleted").counter().count());
+	}
+}
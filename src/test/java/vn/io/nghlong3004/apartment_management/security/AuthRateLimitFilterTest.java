@@ -0,0 +1,135 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+class AuthRateLimitFilterTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private AuthRateLimitFilter filter;
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new AuthRateLimitFilter(meterRegistry, true, 3, 1, 1, 1, 600_000);
+	}
+
+	private MockHttpServletRequest loginRequest(String ip, String email) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+		request.setRemoteAddr(ip);
+		request.setContentType("application/json");
+		String body = "{\"password\":\"Passw0rd!\",\"email\":\"" + email + "\"}";
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	@Test
+	@DisplayName("Filter: second login for the same normalized email is rejected with 429 before the chain")
+	void doFilter_WhenEmailLimited_ShouldReturn429() throws Exception {
+		MockFilterChain firstChain = new MockFilterChain();
+		filter.doFilter(loginRequest("10.0.0.1", "john@example.com"), new MockHttpServletResponse(), firstChain);
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		MockFilterChain secondChain = new MockFilterChain();
+		filter.doFilter(loginRequest("10.0.0.2", "  John@Example.COM "), response, secondChain);
+
+		Assertions.assertNotNull(firstChain.getRequest());
+		Assertions.assertNull(secondChain.getRequest());
+		Assertions.assertEquals(429, response.getStatus());
+		Assertions.assertNotNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+		Assertions.assertEquals(1.0,
+				meterRegistry.get("auth.rate_limit.rejected").tag("key", "email").counter().count());
+	}
+
+	@Test
+	@DisplayName("Filter: requests over the IP limit are rejected even with different emails")
+	void doFilter_WhenIpLimited_ShouldReturn429() throws Exception {
+		for (int i = 0; i < 3; ++i) {
+			filter.doFilter(loginRequest("10.0.0.3", "user" + i + "@example.com"), new MockHttpServletResponse(),
+					new MockFilterChain());
+		}
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(loginRequest("10.0.0.3", "other@example.com"), response, new MockFilterChain());
+
+		Assertions.assertEquals(429, response.getStatus());
+		Assertions.assertEquals(1.0, meterRegistry.get("auth.rate_limit.rejected").tag("key", "ip").counter().count());
+	}
+
+	@Test
+	@DisplayName("Filter: accepted request body is replayed unchanged to the handler")
+	void doFilter_WhenAllowed_ShouldReplayBody() throws Exception {
+		MockHttpServletRequest request = loginRequest("10.0.0.4", "jane@example.com");
+		String body = new String(request.getContentAsByteArray(), StandardCharsets.UTF_8);
+		MockFilterChain chain = new MockFilterChain();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		String replayed = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		Assertions.assertEquals(body, replayed);
+	}
+
+	@Test
+	@DisplayName("Filter: replayed body can be read through a ReadListener")
+	void doFilter_WhenReadAsync_ShouldReplayBodyToListener() throws Exception {
+		MockHttpServletRequest request = loginRequest("10.0.0.5", "jane@example.com");
+		String body = new String(request.getContentAsByteArray(), StandardCharsets.UTF_8);
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		ServletInputStream in = chain.getRequest().getInputStream();
+		ByteArrayOutputStream read = new ByteArrayOutputStream();
+		boolean[] allRead = new boolean[1];
+		in.setReadListener(new ReadListener() {
+			@Override
+			public void onDataAvailable() throws IOException {
+				byte[] buffer = new byte[16];
+				while (in.isReady() && !in.isFinished()) {
+					int n = in.read(buffer);
+					if (n > 0) {
+						read.write(buffer, 0, n);
+					}
+				}
+			}
+
+			@Override
+			public void onAllDataRead() {
+				allRead[0] = true;
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				Assertions.fail(t);
+			}
+		});
+
+		Assertions.assertTrue(allRead[0]);
+		Assertions.assertEquals(body, read.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	@DisplayName("Filter: other endpoints are never limited")
+	void doFilter_WhenNotAuthEndpoint_ShouldPassThrough() throws Exception {
+		for (int i = 0; i < 10; ++i) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/floor");
+			MockFilterChain chain = new MockFilterChain();
+			filter.doFilter(request, new MockHttpServletResponse(), chain);
+			Assertions.assertNotNull(chain.getRequest());
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.RetryLaterException;
+
+class PasswordHasherTest {
+
+	private final PasswordEncoder passwordEncoder = Mockito.mock(PasswordEncoder.class);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private PasswordHasher passwordHasher;
+
+	@AfterEach
+	void tearDown() {
+		passwordHasher.shutdown();
+	}
+
+	@Test
+	@DisplayName("Method: encode/matches -> delegate to the encoder and record latency")
+	void encodeAndMatches_ShouldDelegateAndRecordLatency() {
+		passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 2, 4, 1);
+		Mockito.when(passwordEncoder.encode("secret")).thenReturn("hash");
+		Mockito.when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+		Assertions.assertEquals("hash", passwordHasher.encode("secret"));
+		Assertions.assertTrue(passwordHasher.matches("secret", "hash"));
+		Assertions.assertFalse(passwordHasher.matches("other", "hash"));
+
+		Assertions.assertEquals(1,
+				meterRegistry.get("password_hasher.latency").tag("operation", "encode").timer().count());
+		Assertions.assertEquals(2,
+				meterRegistry.get("password_hasher.latency").tag("operation", "matches").timer().count());
+	}
+
+	@Test
+	@DisplayName("Method: encode -> rejects with 503 and Retry-After when the queue is full")
+	void encode_WhenSaturated_ShouldRejectWithRetryAfter() throws Exception {
+		passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 1, 3);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(passwordEncoder.encode("slow")).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return "hash";
+		});
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("slow"));
+		Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("slow"));
+		while (meterRegistry.get("password_hasher.queue.depth").gauge().value() < 1) {
+			Thread.onSpinWait();
+		}
+
+		RetryLaterException ex = Assertions.assertThrows(RetryLaterException.class,
+				() -> passwordHasher.encode("slow"));
+		Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+		Assertions.assertEquals(ErrorMessageConstant.AUTHENTICATION_BUSY, ex.getMessage());
+		Assertions.assertEquals(3, ex.getRetryAfterSeconds());
+		Assertions.assertEquals(1.0, meterRegistry.get("password_hasher.rejected").counter().count());
+
+		release.countDown();
+		Assertions.assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+	}
+}
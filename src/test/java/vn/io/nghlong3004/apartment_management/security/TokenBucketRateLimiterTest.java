@@ -0,0 +1,50 @@
+package vn.io.nghlong3004.apartment_management.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	@DisplayName("Method: tryAcquire -> allows a full burst, then rejects with the wait until the next token")
+	void tryAcquire_WhenBurstExhausted_ShouldReturnWait() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60);
+		long now = 1_000 * SECOND;
+
+		for (int i = 0; i < 3; ++i) {
+			Assertions.assertEquals(0, limiter.tryAcquire("k", now));
+		}
+		Assertions.assertEquals(SECOND, limiter.tryAcquire("k", now));
+		Assertions.assertEquals(0, limiter.tryAcquire("k", now + SECOND));
+	}
+
+	@Test
+	@DisplayName("Method: tryAcquire -> keys are limited independently")
+	void tryAcquire_ShouldIsolateKeys() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1);
+		long now = 1_000 * SECOND;
+
+		Assertions.assertEquals(0, limiter.tryAcquire("a", now));
+		Assertions.assertTrue(limiter.tryAcquire("a", now) > 0);
+		Assertions.assertEquals(0, limiter.tryAcquire("b", now));
+	}
+
+	@Test
+	@DisplayName("Method: evictIdle -> drops only buckets that have been full for the idle period")
+	void evictIdle_ShouldDropOnlyIdleBuckets() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60);
+		long now = 1_000 * SECOND;
+		limiter.tryAcquire("old", now);
+		limiter.tryAcquire("recent", now + 30 * SECOND);
+
+		int evicted = limiter.evictIdle(now + 40 * SECOND, 20 * SECOND);
+
+		Assertions.assertEquals(1, evicted);
+		Assertions.assertEquals(1, limiter.size());
+	}
+}
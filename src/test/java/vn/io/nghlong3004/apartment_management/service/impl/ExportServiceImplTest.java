@@ -0,0 +1,143 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.ExportFormat;
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.FloorSummary;
+import vn.io.nghlong3004.apartment_management.model.dto.RoomResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.FloorRequestRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+
+class ExportServiceImplTest {
+
+	private final FloorRepository floorRepository = Mockito.mock(FloorRepository.class);
+
+	private final RoomRepository roomRepository = Mockito.mock(RoomRepository.class);
+
+	private final FloorRequestRepository floorRequestRepository = Mockito.mock(FloorRequestRepository.class);
+
+	private ExportServiceImpl exportService;
+
+	@SuppressWarnings("unchecked")
+	private <E> Cursor<E> cursorOf(List<E> rows) {
+		Cursor<E> cursor = Mockito.mock(Cursor.class);
+		when(cursor.iterator()).thenReturn(rows.iterator());
+		return cursor;
+	}
+
+	@BeforeEach
+	void setup() {
+		exportService = new ExportServiceImpl(floorRepository, roomRepository, floorRequestRepository,
+				new ObjectMapper());
+		ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+	}
+
+	@Test
+	@DisplayName("Method: exportFloors -> NDJSON writes one JSON object per line and closes the cursor")
+	void exportFloors_WhenNdjson_ShouldWriteOneLinePerRow() throws Exception {
+		Cursor<FloorSummary> cursor = cursorOf(
+				List.of(FloorSummary.builder().id(1L).name("Floor 1").roomCount(2).build(),
+						FloorSummary.builder().id(2L).name("Floor 2").managerId(9L).roomCount(0).build(),
+						FloorSummary.builder().id(3L).name("Floor 3").roomCount(1).build()));
+		when(floorRepository.streamAll()).thenReturn(cursor);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long rows = exportService.exportFloors(ExportFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		Assertions.assertEquals(3, rows);
+		Assertions.assertEquals(3, lines.length);
+		Assertions.assertEquals(9L, new ObjectMapper().readTree(lines[1]).get("managerId").asLong());
+		verify(cursor).close();
+	}
+
+	@Test
+	@DisplayName("Method: exportRooms -> CSV writes a header and quotes values containing separators")
+	void exportRooms_WhenCsv_ShouldWriteHeaderAndEscape() {
+		Cursor<RoomResponse> cursor = cursorOf(
+				List.of(new RoomResponse(1L, 1L, null, "Room, \"A\"", RoomStatus.AVAILABLE)));
+		when(roomRepository.streamAll()).thenReturn(cursor);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.exportRooms(ExportFormat.CSV, out);
+
+		Assertions.assertEquals("id,floorId,userId,name,status\r\n1,1,,\"Room, \"\"A\"\"\",AVAILABLE\r\n",
+				out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	@DisplayName("Method: streamFloor -> writes the floor detail with every room from the cursor")
+	void streamFloor_ShouldWriteFloorWithAllRooms() throws Exception {
+		when(floorRepository.findById(1L))
+				.thenReturn(Optional.of(Floor.builder().id(1L).name("Floor 1").roomCount(3).build()));
+		Cursor<RoomResponse> cursor = cursorOf(List.of(new RoomResponse(1L, 1L, null, "Floor 1-1", RoomStatus.SOLD),
+				new RoomResponse(2L, 1L, null, "Floor 1-2", RoomStatus.AVAILABLE),
+				new RoomResponse(3L, 1L, null, "Floor 1-3", RoomStatus.AVAILABLE)));
+		when(roomRepository.streamResponsesByFloorId(1L)).thenReturn(cursor);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long rows = exportService.streamFloor(1L, out);
+
+		JsonNode floor = new ObjectMapper().readTree(out.toByteArray());
+		Assertions.assertEquals(3, rows);
+		Assertions.assertEquals("Floor 1", floor.get("name").asText());
+		Assertions.assertEquals(3, floor.get("roomResponses").size());
+		Assertions.assertEquals("SOLD", floor.get("roomResponses").get(0).get("status").asText());
+		verify(cursor).close();
+	}
+
+	@Test
+	@DisplayName("Method: streamFloor -> header follows the mapper's inclusion rules like FloorResponse")
+	void streamFloor_ShouldSerializeHeaderWithSharedMapper() throws Exception {
+		ObjectMapper nonNull = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		exportService = new ExportServiceImpl(floorRepository, roomRepository, floorRequestRepository, nonNull);
+		ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+		Floor floor = Floor.builder().id(1L).name("Floor 1").roomCount(0).build();
+		when(floorRepository.findById(1L)).thenReturn(Optional.of(floor));
+		Cursor<RoomResponse> cursor = cursorOf(List.of());
+		when(roomRepository.streamResponsesByFloorId(1L)).thenReturn(cursor);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.streamFloor(1L, out);
+
+		Assertions.assertEquals(nonNull.writeValueAsString(FloorResponse.from(floor, List.of(), null)),
+				out.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	@DisplayName("Method: streamFloor -> throws FLOOR_NOT_FOUND before opening the room cursor")
+	void streamFloor_WhenFloorMissing_ShouldThrow() {
+		when(floorRepository.findById(2L)).thenReturn(Optional.empty());
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> exportService.streamFloor(2L, new ByteArrayOutputStream()));
+
+		Assertions.assertEquals(ErrorMessageConstant.FLOOR_NOT_FOUND, ex.getMessage());
+		verify(roomRepository, never()).streamResponsesByFloorId(2L);
+	}
+}
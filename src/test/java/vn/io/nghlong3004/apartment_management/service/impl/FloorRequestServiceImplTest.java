@@ -0,0 +1,337 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import vn.io.nghlong3004.apartment_management.cache.TopologyIndex;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.exception.RetryLaterException;
+import vn.io.nghlong3004.apartment_management.model.ActorContext;
+import vn.io.nghlong3004.apartment_management.model.CreateRequestFacts;
+import vn.io.nghlong3004.apartment_management.model.FloorRequest;
+import vn.io.nghlong3004.apartment_management.model.FloorRequestInsert;
+import vn.io.nghlong3004.apartment_management.model.RequestStatus;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.CreateRequest;
+import vn.io.nghlong3004.apartment_management.model.dto.UpdateRequest;
+import vn.io.nghlong3004.apartment_management.repository.FloorRequestRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.service.OccupancyService;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
+import vn.io.nghlong3004.apartment_management.util.SecurityUtil;
+
+@ExtendWith(MockitoExtension.class)
+class FloorRequestServiceImplTest {
+
+	@Mock
+	private FloorRequestRepository mockFloorRequestRepository;
+	@Mock
+	private RoomRepository mockRoomRepository;
+	@Mock
+	private UserRepository mockUserRepository;
+	@Mock
+	private TotalCountService mockTotalCountService;
+	@Mock
+	private OccupancyService mockOccupancyService;
+	@Mock
+	private TopologyIndex mockTopologyIndex;
+	@Mock
+	private ApplicationEventPublisher mockEventPublisher;
+	@Spy
+	private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+	@Spy
+	private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@InjectMocks
+	private FloorRequestServiceImpl floorRequestServiceImpl;
+
+	@AfterEach
+	void tearDown() {
+		SecurityUtil.clearActor();
+	}
+
+	private static void actAs(Long userId, String role) {
+		SecurityUtil.bindActor(ActorContext.of(userId, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+	}
+
+	private static CreateRequestFacts facts(RoomStatus status, Long ownerId, Long managerId, boolean ownsRoom,
+			boolean... active) {
+		return new CreateRequestFacts(20L, 3L, status, ownerId, managerId, ownsRoom, active.length > 0 && active[0],
+				active.length > 1 && active[1]);
+	}
+
+	private void givenFacts(CreateRequest request, CreateRequestFacts facts) {
+		when(mockFloorRequestRepository.findCreateFacts(request.requesterId(), request.requesterRoomId(),
+				request.counterpartId(), request.counterpartRoomId())).thenReturn(facts);
+	}
+
+	private static void assertRejected(String message, Runnable call) {
+		ResourceException ex = Assertions.assertThrows(ResourceException.class, call::run);
+		Assertions.assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+		Assertions.assertEquals(message, ex.getMessage());
+	}
+
+	@Test
+	@DisplayName("Method: create -> valid request is inserted after a single validation query")
+	void create_WhenValid_ShouldInsert() {
+		actAs(1L, "USER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true));
+		when(mockFloorRequestRepository.insert(any())).thenReturn(new FloorRequestInsert(100L, false, false));
+
+		floorRequestServiceImpl.create(request);
+
+		verify(mockFloorRequestRepository).insert(any());
+		verify(mockTotalCountService).invalidateRequests();
+		verify(mockRoomRepository, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("Method: create -> other users need to manage the counterpart floor")
+	void create_WhenNotSelfAndNotManager_ShouldThrowForbidden() {
+		actAs(5L, "USER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true));
+
+		assertRejected(ErrorMessageConstant.FORBIDDEN, () -> floorRequestServiceImpl.create(request));
+		verify(mockFloorRequestRepository, never()).insert(any());
+	}
+
+	@Test
+	@DisplayName("Method: create -> manager of the counterpart floor may create for someone else")
+	void create_WhenManagerOfFloor_ShouldInsert() {
+		actAs(9L, "MANAGER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true));
+		when(mockFloorRequestRepository.insert(any())).thenReturn(new FloorRequestInsert(100L, false, false));
+
+		floorRequestServiceImpl.create(request);
+
+		verify(mockFloorRequestRepository).insert(any());
+	}
+
+	@Test
+	@DisplayName("Method: create -> manager naming a missing room gets ROOM_NOT_FOUND")
+	void create_WhenManagerAndRoomMissing_ShouldThrowRoomNotFound() {
+		actAs(9L, "MANAGER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, new CreateRequestFacts(null, null, null, null, null, true, false, false));
+
+		assertRejected(ErrorMessageConstant.ROOM_NOT_FOUND, () -> floorRequestServiceImpl.create(request));
+	}
+
+	@Test
+	@DisplayName("Method: create -> requester must own the room they name")
+	void create_WhenRequesterRoomNotOwned_ShouldThrowMismatch() {
+		actAs(1L, "USER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, false));
+
+		assertRejected(ErrorMessageConstant.ROOM_OWNER_MISMATCH, () -> floorRequestServiceImpl.create(request));
+	}
+
+	@Test
+	@DisplayName("Method: create -> moving into an empty room requires it to be available")
+	void create_WhenNoCounterpartAndRoomTaken_ShouldThrowNotAvailable() {
+		actAs(1L, "USER");
+		CreateRequest request = new CreateRequest(1L, null, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.RESERVED, null, 9L, true));
+
+		assertRejected(ErrorMessageConstant.ROOM_NOT_AVAILABLE, () -> floorRequestServiceImpl.create(request));
+	}
+
+	@Test
+	@DisplayName("Method: create -> counterpart must own the counterpart room")
+	void create_WhenCounterpartNotOwner_ShouldThrowMismatch() {
+		actAs(1L, "USER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 7L, 9L, true));
+
+		assertRejected(ErrorMessageConstant.ROOM_OWNER_MISMATCH, () -> floorRequestServiceImpl.create(request));
+	}
+
+	@Test
+	@DisplayName("Method: create -> an open request in the other role is reported before inserting")
+	void create_WhenActiveRequestExists_ShouldThrowByRole() {
+		actAs(1L, "ADMIN");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true, true));
+		assertRejected(ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_COUNTERPART,
+				() -> floorRequestServiceImpl.create(request));
+
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true, false, true));
+		assertRejected(ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_REQUESTER,
+				() -> floorRequestServiceImpl.create(request));
+		verify(mockFloorRequestRepository, never()).insert(any());
+	}
+
+	@Test
+	@DisplayName("Method: create -> a conflict on the unique index is mapped to the role's message")
+	void create_WhenInsertConflicts_ShouldThrowByRole() {
+		actAs(1L, "USER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true));
+
+		when(mockFloorRequestRepository.insert(any())).thenReturn(new FloorRequestInsert(null, true, false));
+		assertRejected(ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_REQUESTER,
+				() -> floorRequestServiceImpl.create(request));
+
+		when(mockFloorRequestRepository.insert(any())).thenReturn(new FloorRequestInsert(null, false, true));
+		assertRejected(ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_COUNTERPART,
+				() -> floorRequestServiceImpl.create(request));
+		verify(mockTotalCountService, never()).invalidateRequests();
+	}
+
+	@Test
+	@DisplayName("Method: create -> a conflict not yet visible to the statement is retried once")
+	void create_WhenInsertRacesConcurrentCreate_ShouldRetry() {
+		actAs(1L, "USER");
+		CreateRequest request = new CreateRequest(1L, 2L, 10L, 20L);
+		givenFacts(request, facts(RoomStatus.SOLD, 2L, 9L, true));
+		when(mockFloorRequestRepository.insert(any())).thenReturn(new FloorRequestInsert(null, false, false),
+				new FloorRequestInsert(null, true, false));
+
+		assertRejected(ErrorMessageConstant.ACTIVE_REQUEST_EXISTS_FOR_REQUESTER,
+				() -> floorRequestServiceImpl.create(request));
+		verify(mockFloorRequestRepository, times(2)).insert(any());
+	}
+
+	private static FloorRequest acceptedRequest() {
+		return FloorRequest.builder().id(50L).requesterId(1L).requesterRoomId(10L).counterpartId(2L)
+				.counterpartRoomId(20L).status(RequestStatus.ACCEPTED).build();
+	}
+
+	@Test
+	@DisplayName("Method: update -> approval locks rooms and users in id order and swaps owners in one write")
+	@SuppressWarnings("unchecked")
+	void update_WhenApproved_ShouldSwapOwnersInOneStatement() {
+		actAs(99L, "ADMIN");
+		when(mockFloorRequestRepository.findById(50L)).thenReturn(Optional.of(acceptedRequest()));
+		Room requesterRoom = Room.builder().id(10L).floorId(4L).userId(1L).status(RoomStatus.SOLD).build();
+		Room counterpartRoom = Room.builder().id(20L).floorId(3L).userId(2L).status(RoomStatus.RESERVED).build();
+		when(mockRoomRepository.lockByIds(List.of(10L, 20L))).thenReturn(List.of(requesterRoom, counterpartRoom));
+		when(mockUserRepository.lockByIds(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+		when(mockFloorRequestRepository.update(any())).thenReturn(1);
+
+		floorRequestServiceImpl.update(50L, new UpdateRequest(RequestStatus.APPROVED, null));
+
+		ArgumentCaptor<List<Room>> rooms = ArgumentCaptor.forClass(List.class);
+		verify(mockRoomRepository).reassignOwners(rooms.capture());
+		Assertions.assertEquals(2L, rooms.getValue().get(0).getUserId());
+		Assertions.assertEquals(1L, rooms.getValue().get(1).getUserId());
+		verify(mockOccupancyService).statusChanged(4L, RoomStatus.SOLD, RoomStatus.SOLD);
+		verify(mockOccupancyService).statusChanged(3L, RoomStatus.RESERVED, RoomStatus.RESERVED);
+		verify(mockFloorRequestRepository).update(any());
+	}
+
+	@Test
+	@DisplayName("Method: update -> approval fails when a new owner no longer exists")
+	void update_WhenOwnerMissing_ShouldThrowNotFound() {
+		actAs(99L, "ADMIN");
+		when(mockFloorRequestRepository.findById(50L)).thenReturn(Optional.of(acceptedRequest()));
+		when(mockRoomRepository.lockByIds(List.of(10L, 20L))).thenReturn(
+				List.of(Room.builder().id(10L).floorId(4L).userId(1L).status(RoomStatus.SOLD).build(),
+						Room.builder().id(20L).floorId(3L).userId(2L).status(RoomStatus.SOLD).build()));
+		when(mockUserRepository.lockByIds(List.of(1L, 2L))).thenReturn(List.of(1L));
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> floorRequestServiceImpl.update(50L, new UpdateRequest(RequestStatus.APPROVED, null)));
+		Assertions.assertEquals(ErrorMessageConstant.ID_NOT_FOUND, ex.getMessage());
+		verify(mockRoomRepository, never()).reassignOwners(any());
+	}
+
+	@Test
+	@DisplayName("Method: update -> a deadlocked attempt is rolled back and retried")
+	void update_WhenDeadlocked_ShouldRetry() {
+		actAs(2L, "USER");
+		FloorRequest pending = FloorRequest.builder().id(50L).requesterId(1L).counterpartId(2L)
+				.counterpartRoomId(20L).status(RequestStatus.PENDING).build();
+		when(mockFloorRequestRepository.findById(50L)).thenThrow(new PessimisticLockingFailureException("deadlock"))
+				.thenReturn(Optional.of(pending));
+		when(mockFloorRequestRepository.update(any())).thenReturn(1);
+
+		floorRequestServiceImpl.update(50L, new UpdateRequest(RequestStatus.DECLINED, "no"));
+
+		verify(mockFloorRequestRepository, times(1)).update(any());
+		Assertions.assertEquals(1,
+				meterRegistry.counter("floor_request.update.retry", "cause", "deadlock").count());
+	}
+
+	@Test
+	@DisplayName("Method: update -> gives up with 409 and Retry-After after repeated deadlocks")
+	void update_WhenDeadlockPersists_ShouldThrowRetryLater() {
+		actAs(2L, "USER");
+		when(mockFloorRequestRepository.findById(50L)).thenThrow(new PessimisticLockingFailureException("deadlock"));
+
+		RetryLaterException ex = Assertions.assertThrows(RetryLaterException.class,
+				() -> floorRequestServiceImpl.update(50L, new UpdateRequest(RequestStatus.DECLINED, "no")));
+		Assertions.assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+		Assertions.assertEquals(3,
+				meterRegistry.counter("floor_request.update.conflict", "cause", "deadlock").count());
+	}
+
+	@Test
+	@DisplayName("Method: update -> a lost version race is retried against the new status")
+	void update_WhenVersionChanged_ShouldRecheckOnRetry() {
+		actAs(2L, "USER");
+		FloorRequest pending = FloorRequest.builder().id(50L).requesterId(1L).counterpartId(2L)
+				.counterpartRoomId(20L).status(RequestStatus.PENDING).version(0).build();
+		FloorRequest cancelled = FloorRequest.builder().id(50L).requesterId(1L).counterpartId(2L)
+				.counterpartRoomId(20L).status(RequestStatus.CANCELLED).version(1).build();
+		when(mockFloorRequestRepository.findById(50L)).thenReturn(Optional.of(pending), Optional.of(cancelled));
+		when(mockFloorRequestRepository.update(any())).thenReturn(0);
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> floorRequestServiceImpl.update(50L, new UpdateRequest(RequestStatus.DECLINED, "no")));
+		Assertions.assertEquals(ErrorMessageConstant.INVALID_STATE, ex.getMessage());
+		verify(mockFloorRequestRepository, times(1)).update(any());
+		Assertions.assertEquals(1,
+				meterRegistry.counter("floor_request.update.retry", "cause", "version").count());
+	}
+
+	@Test
+	@DisplayName("Method: update -> gives up with 409 when every attempt loses the version race")
+	void update_WhenVersionAlwaysChanged_ShouldThrowConflict() {
+		actAs(2L, "USER");
+		when(mockFloorRequestRepository.findById(50L)).thenAnswer(invocation -> Optional.of(FloorRequest.builder()
+				.id(50L).requesterId(1L).counterpartId(2L).status(RequestStatus.PENDING).version(0).build()));
+		when(mockFloorRequestRepository.update(any())).thenReturn(0);
+
+		RetryLaterException ex = Assertions.assertThrows(RetryLaterException.class,
+				() -> floorRequestServiceImpl.update(50L, new UpdateRequest(RequestStatus.DECLINED, "no")));
+		Assertions.assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+		verify(mockFloorRequestRepository, times(3)).update(any());
+		Assertions.assertEquals(3,
+				meterRegistry.counter("floor_request.update.conflict", "cause", "version").count());
+	}
+}
@@ -0,0 +1,101 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
+import vn.io.nghlong3004.apartment_management.model.Role;
+
+class JWTServiceImplTest {
+
+	private JWTServiceImpl jwtService;
+
+	private final int maxTestCase = 10;
+
+	private JWTServiceImpl createService(long accessTokenExpirationMs) {
+		JWTServiceImpl service = new JWTServiceImpl();
+		ReflectionTestUtils.setField(service, "jwtSecretKey", "0123456789abcdef0123456789abcdef");
+		ReflectionTestUtils.setField(service, "accessTokenExpirationMs", accessTokenExpirationMs);
+		ReflectionTestUtils.setField(service, "issuer", "nghlong3004");
+		ReflectionTestUtils.setField(service, "clockSkewSeconds", 60L);
+		ReflectionTestUtils.setField(service, "verifiedCacheMaxSize", 100L);
+		service.init();
+		return service;
+	}
+
+	@BeforeEach
+	void setup() {
+		jwtService = createService(900_000L);
+	}
+
+	@Test
+	@DisplayName("Method: verify -> returns user id, roles, authorities and expiry from one parse")
+	void verify_WhenTokenIsValid_ShouldReturnClaims() {
+		for (int i = 0; i < maxTestCase; ++i) {
+			Long userId = Math.abs(new Random().nextLong());
+			String token = jwtService.generateAccessToken(userId, Role.MANAGER);
+
+			JwtClaims claims = jwtService.verify(token);
+
+			Assertions.assertEquals(userId, claims.userId());
+			Assertions.assertEquals(List.of("MANAGER"), claims.roles());
+			Assertions.assertEquals(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")), claims.authorities());
+			Assertions.assertNotNull(claims.issuedAt());
+			Assertions.assertTrue(claims.expiration().isAfter(claims.issuedAt()));
+		}
+	}
+
+	@Test
+	@DisplayName("Method: verify -> second call for the same token is served from the verified cache")
+	void verify_WhenCalledTwice_ShouldReturnCachedClaims() {
+		String token = jwtService.generateAccessToken(42L, Role.USER);
+
+		JwtClaims first = jwtService.verify(token);
+		JwtClaims second = jwtService.verify(token);
+
+		Assertions.assertSame(first, second);
+		Assertions.assertEquals(42L, jwtService.getUserId(token));
+		Assertions.assertEquals(first.authorities(), jwtService.getAuthorities(token));
+	}
+
+	@Test
+	@DisplayName("Method: verify -> tampered token is rejected even after the original was cached")
+	void verify_WhenTokenIsTampered_ShouldThrow() {
+		String token = jwtService.generateAccessToken(7L, Role.USER);
+		jwtService.verify(token);
+
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		Assertions.assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+	}
+
+	@Test
+	@DisplayName("Method: verify -> expired token throws ExpiredJwtException and is never cached")
+	void verify_WhenTokenIsExpired_ShouldThrowExpired() {
+		JWTServiceImpl expiredIssuer = createService(-120_000L);
+		String token = expiredIssuer.generateAccessToken(9L, Role.ADMIN);
+
+		Assertions.assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+		Assertions.assertThrows(ExpiredJwtException.class, () -> jwtService.verify(token));
+	}
+
+	@Test
+	@DisplayName("Method: verify -> token signed with another key is rejected")
+	void verify_WhenSignedWithOtherKey_ShouldThrow() {
+		JWTServiceImpl other = createService(900_000L);
+		ReflectionTestUtils.setField(other, "jwtSecretKey", "fedcba9876543210fedcba9876543210");
+		other.init();
+		String token = other.generateAccessToken(11L, Role.USER);
+
+		Assertions.assertThrows(JwtException.class, () -> jwtService.verify(token));
+	}
+}
@@ -0,0 +1,103 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.OccupancyCount;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.OccupancyResponse;
+import vn.io.nghlong3004.apartment_management.model.dto.ReconcileResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.OccupancyRepository;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyServiceImplTest {
+
+	@Mock
+	private OccupancyRepository occupancyRepository;
+
+	@Mock
+	private FloorRepository floorRepository;
+
+	@InjectMocks
+	private OccupancyServiceImpl occupancyService;
+
+	@Test
+	@DisplayName("Method: getBuildingOccupancy -> folds status sums into one response")
+	void getBuildingOccupancy_ShouldSumStatuses() {
+		when(occupancyRepository.sumByStatus()).thenReturn(List.of(new OccupancyCount(RoomStatus.AVAILABLE, 7),
+				new OccupancyCount(RoomStatus.SOLD, 3)));
+
+		OccupancyResponse response = occupancyService.getBuildingOccupancy();
+
+		Assertions.assertEquals(new OccupancyResponse(null, 7, 0, 3, 10), response);
+	}
+
+	@Test
+	@DisplayName("Method: getFloorOccupancy -> throws FLOOR_NOT_FOUND for a missing floor")
+	void getFloorOccupancy_WhenFloorMissing_ShouldThrow() {
+		when(floorRepository.floorExists(9L)).thenReturn(Optional.empty());
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> occupancyService.getFloorOccupancy(9L));
+
+		Assertions.assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+		Assertions.assertEquals(ErrorMessageConstant.FLOOR_NOT_FOUND, ex.getMessage());
+		verify(occupancyRepository, never()).findByFloorId(9L);
+	}
+
+	@Test
+	@DisplayName("Method: statusChanged -> moves one room between counters only when the status changed")
+	void statusChanged_ShouldMoveOnlyOnChange() {
+		occupancyService.statusChanged(1L, RoomStatus.AVAILABLE, RoomStatus.SOLD);
+		occupancyService.statusChanged(1L, RoomStatus.SOLD, RoomStatus.SOLD);
+		occupancyService.statusChanged(1L, null, RoomStatus.SOLD);
+
+		verify(occupancyRepository).move(1L, RoomStatus.AVAILABLE, RoomStatus.SOLD);
+		verify(occupancyRepository, never()).move(1L, RoomStatus.SOLD, RoomStatus.SOLD);
+		verify(occupancyRepository, never()).move(1L, null, RoomStatus.SOLD);
+	}
+
+	@Test
+	@DisplayName("Method: roomRemoved -> ignores a delete that matched no room")
+	void roomRemoved_WhenNothingDeleted_ShouldNotAdjust() {
+		occupancyService.roomRemoved(1L, null);
+		occupancyService.roomRemoved(1L, RoomStatus.RESERVED);
+
+		verify(occupancyRepository, times(1)).adjust(any(), any(), anyInt());
+		verify(occupancyRepository).adjust(1L, RoomStatus.RESERVED, -1);
+	}
+
+	@Test
+	@DisplayName("Method: reconcile -> locks the counters before rebuilding them")
+	void reconcile_ShouldLockThenRebuild() {
+		when(occupancyRepository.rebuild()).thenReturn(2);
+
+		ReconcileResponse response = occupancyService.reconcile();
+
+		InOrder order = inOrder(occupancyRepository);
+		order.verify(occupancyRepository).lockForRebuild();
+		order.verify(occupancyRepository).rebuild();
+		Assertions.assertEquals(2, response.corrected());
+	}
+}
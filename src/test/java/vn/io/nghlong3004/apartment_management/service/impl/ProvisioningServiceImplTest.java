@@ -0,0 +1,133 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.event.FloorChangedEvent;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.Floor;
+import vn.io.nghlong3004.apartment_management.model.Room;
+import vn.io.nghlong3004.apartment_management.model.RoomNumberRange;
+import vn.io.nghlong3004.apartment_management.model.RoomStatus;
+import vn.io.nghlong3004.apartment_management.model.dto.BulkCreateResponse;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.OccupancyRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.service.TotalCountService;
+
+class ProvisioningServiceImplTest {
+
+	private final SqlSessionTemplate batchSession = Mockito.mock(SqlSessionTemplate.class);
+
+	private final FloorRepository floorRepository = Mockito.mock(FloorRepository.class);
+
+	private final RoomRepository roomRepository = Mockito.mock(RoomRepository.class);
+
+	private final OccupancyRepository occupancyRepository = Mockito.mock(OccupancyRepository.class);
+
+	private final TotalCountService totalCountService = Mockito.mock(TotalCountService.class);
+
+	private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+
+	private ProvisioningServiceImpl provisioningService;
+
+	@BeforeEach
+	void setup() {
+		when(batchSession.getMapper(FloorRepository.class)).thenReturn(floorRepository);
+		when(batchSession.getMapper(RoomRepository.class)).thenReturn(roomRepository);
+		when(batchSession.getMapper(OccupancyRepository.class)).thenReturn(occupancyRepository);
+		provisioningService = new ProvisioningServiceImpl(batchSession, totalCountService, eventPublisher,
+				new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(provisioningService, "maxFloorNumber", 10000L);
+		ReflectionTestUtils.setField(provisioningService, "maxRoomNumber", 100L);
+	}
+
+	@Test
+	@DisplayName("Method: createFloors -> names floors from the allocated numbers and flushes one batch")
+	void createFloors_ShouldBatchInsertAllocatedNumbers() {
+		when(floorRepository.allocateFloorNumbers(3)).thenReturn(List.of(5L, 6L, 7L));
+
+		BulkCreateResponse response = provisioningService.createFloors(3);
+
+		ArgumentCaptor<Floor> floors = ArgumentCaptor.forClass(Floor.class);
+		verify(floorRepository, times(3)).insert(floors.capture());
+		Assertions.assertEquals("Floor 5", floors.getAllValues().get(0).getName());
+		Assertions.assertEquals("Floor 7", floors.getAllValues().get(2).getName());
+		Assertions.assertEquals(7, floors.getAllValues().get(2).getNumber());
+		Assertions.assertEquals(3, response.created());
+		Assertions.assertEquals(List.of("Floor 5", "Floor 6", "Floor 7"), response.names());
+		verify(batchSession).flushStatements();
+		verify(totalCountService).invalidateFloors();
+		verify(eventPublisher).publishEvent(new FloorChangedEvent(null));
+	}
+
+	@Test
+	@DisplayName("Method: createFloors -> reports the numbers actually drawn when the sequence skipped some")
+	void createFloors_WhenNumbersHaveGaps_ShouldReturnEachName() {
+		when(floorRepository.allocateFloorNumbers(3)).thenReturn(List.of(5L, 8L, 9L));
+
+		BulkCreateResponse response = provisioningService.createFloors(3);
+
+		Assertions.assertEquals(List.of("Floor 5", "Floor 8", "Floor 9"), response.names());
+	}
+
+	@Test
+	@DisplayName("Method: createFloors -> rejects a batch whose largest number passes the floor limit before inserting")
+	void createFloors_WhenOverLimit_ShouldThrowWithoutInsert() {
+		when(floorRepository.allocateFloorNumbers(3)).thenReturn(List.of(9998L, 10000L, 9999L));
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> provisioningService.createFloors(3));
+
+		Assertions.assertEquals(ErrorMessageConstant.FLOOR_NUMBER_EXCEEDS_LIMIT, ex.getMessage());
+		verify(floorRepository, never()).insert(any(Floor.class));
+	}
+
+	@Test
+	@DisplayName("Method: createRooms -> reserves numbers once and inserts each room")
+	void createRooms_ShouldReserveNumbersOnce() {
+		when(floorRepository.allocateRoomNumbers(2L, 3))
+				.thenReturn(Optional.of(new RoomNumberRange(2, "Floor 2", 2)));
+
+		BulkCreateResponse response = provisioningService.createRooms(2L, 3);
+
+		verify(roomRepository, times(3)).insert(any(Room.class));
+		verify(occupancyRepository).adjust(2L, RoomStatus.AVAILABLE, 3);
+		verify(floorRepository, never()).findById(2L);
+		verify(floorRepository, never()).incrementRoomCount(2L);
+		verify(batchSession).flushStatements();
+		verify(eventPublisher).publishEvent(new FloorChangedEvent(2L));
+		Assertions.assertEquals(List.of("Room 2-02", "Room 2-03", "Room 2-04"), response.names());
+	}
+
+	@Test
+	@DisplayName("Method: createRooms -> rejects a batch that would pass the room limit before inserting")
+	void createRooms_WhenOverLimit_ShouldThrowWithoutInsert() {
+		when(floorRepository.allocateRoomNumbers(2L, 5))
+				.thenReturn(Optional.of(new RoomNumberRange(2, "Floor 2", 99)));
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> provisioningService.createRooms(2L, 5));
+
+		Assertions.assertEquals(ErrorMessageConstant.ROOM_NUMBER_EXCEEDS_LIMIT, ex.getMessage());
+		verify(roomRepository, never()).insert(any(Room.class));
+	}
+}
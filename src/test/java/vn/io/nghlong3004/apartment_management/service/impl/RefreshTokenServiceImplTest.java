@@ -20,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import vn.io.nghlong3004.apartment_management.exception.ResourceException;
 import vn.io.nghlong3004.apartment_management.model.RefreshToken;
 import vn.io.nghlong3004.apartment_management.repository.RefreshTokenRepository;
+import vn.io.nghlong3004.apartment_management.util.DigestUtil;
 
 @ExtendWith(MockitoExtension.class)
 class RefreshTokenServiceImplTest {
@@ -31,7 +32,7 @@ class RefreshTokenServiceImplTest {
 	private RefreshTokenServiceImpl refreshTokenServiceImpl;
 
 	@Captor
-	private ArgumentCaptor<String> tokenCaptor;
+	private ArgumentCaptor<byte[]> tokenHashCaptor;
 
 	@Captor
 	private ArgumentCaptor<Instant> expiryDateCaptor;
@@ -45,13 +46,15 @@ class RefreshTokenServiceImplTest {
 			String tokenValue = UUID.randomUUID().toString();
 			RefreshToken expectedToken = RefreshToken.builder().id(1L).token(tokenValue).userId(123L)
 					.expiryDate(Instant.now().plus(1, ChronoUnit.DAYS)).build();
-			Mockito.when(mockRefreshTokenRepository.findByToken(tokenValue)).thenReturn(Optional.of(expectedToken));
+			Mockito.when(mockRefreshTokenRepository.findByTokenHash(DigestUtil.sha256(tokenValue)))
+					.thenReturn(Optional.of(expectedToken));
 
 			Optional<RefreshToken> actualTokenOptional = refreshTokenServiceImpl.findByToken(tokenValue);
 
 			Assertions.assertTrue(actualTokenOptional.isPresent());
 			Assertions.assertEquals(expectedToken, actualTokenOptional.get());
-			Mockito.verify(mockRefreshTokenRepository).findByToken(tokenValue);
+			Assertions.assertEquals(tokenValue, actualTokenOptional.get().getToken());
+			Mockito.verify(mockRefreshTokenRepository).findByTokenHash(DigestUtil.sha256(tokenValue));
 		}
 	}
 
@@ -60,12 +63,13 @@ class RefreshTokenServiceImplTest {
 	void findByToken_WhenTokenDoesNotExist_ShouldReturnEmptyOptional() {
 		for (int i = 0; i < maxTestCase; ++i) {
 			String tokenValue = UUID.randomUUID().toString();
-			Mockito.when(mockRefreshTokenRepository.findByToken(tokenValue)).thenReturn(Optional.empty());
+			Mockito.when(mockRefreshTokenRepository.findByTokenHash(DigestUtil.sha256(tokenValue)))
+					.thenReturn(Optional.empty());
 
 			Optional<RefreshToken> actualTokenOptional = refreshTokenServiceImpl.findByToken(tokenValue);
 
 			Assertions.assertFalse(actualTokenOptional.isPresent());
-			Mockito.verify(mockRefreshTokenRepository).findByToken(tokenValue);
+			Mockito.verify(mockRefreshTokenRepository).findByTokenHash(DigestUtil.sha256(tokenValue));
 		}
 	}
 
@@ -75,7 +79,7 @@ class RefreshTokenServiceImplTest {
 		for (int i = 0; i < maxTestCase; ++i) {
 			Long userId = new Random().nextLong();
 			Mockito.doNothing().when(mockRefreshTokenRepository).deleteByUserId(userId);
-			Mockito.doNothing().when(mockRefreshTokenRepository).save(Mockito.eq(userId), tokenCaptor.capture(),
+			Mockito.doNothing().when(mockRefreshTokenRepository).save(Mockito.eq(userId), tokenHashCaptor.capture(),
 					expiryDateCaptor.capture());
 
 			RefreshToken createdToken = refreshTokenServiceImpl.createRefreshToken(userId);
@@ -85,10 +89,10 @@ class RefreshTokenServiceImplTest {
 
 			Mockito.verify(mockRefreshTokenRepository).deleteByUserId(userId);
 
-			Mockito.verify(mockRefreshTokenRepository).save(Mockito.eq(userId), Mockito.anyString(),
+			Mockito.verify(mockRefreshTokenRepository).save(Mockito.eq(userId), Mockito.any(byte[].class),
 					Mockito.any(Instant.class));
 
-			Assertions.assertEquals(createdToken.getToken(), tokenCaptor.getValue());
+			Assertions.assertArrayEquals(DigestUtil.sha256(createdToken.getToken()), tokenHashCaptor.getValue());
 			Assertions.assertEquals(createdToken.getExpiryDate(), expiryDateCaptor.getValue());
 		}
 	}
@@ -124,4 +128,16 @@ class RefreshTokenServiceImplTest {
 			Mockito.verify(mockRefreshTokenRepository).deleteByUserId(userId);
 		}
 	}
+
+	@Test
+	@DisplayName("Method: deleteExpiredBatch -> Delegates to repository with current time and batch size")
+	void deleteExpiredBatch_ShouldDeleteUpToBatchSize() {
+		Mockito.when(mockRefreshTokenRepository.deleteExpired(Mockito.any(Instant.class), Mockito.eq(500)))
+				.thenReturn(42);
+
+		int deleted = refreshTokenServiceImpl.deleteExpiredBatch(500);
+
+		Assertions.assertEquals(42, deleted);
+		Mockito.verify(mockRefreshTokenRepository).deleteExpired(Mockito.any(Instant.class), Mockito.eq(500));
+	}
 }
@@ -0,0 +1,85 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.model.TokenRevocation;
+import vn.io.nghlong3004.apartment_management.repository.TokenRevocationRepository;
+
+class TokenRevocationServiceImplTest {
+
+	private final TokenRevocationRepository tokenRevocationRepository = Mockito
+			.mock(TokenRevocationRepository.class);
+
+	private TokenRevocationServiceImpl tokenRevocationService;
+
+	@BeforeEach
+	void setup() {
+		tokenRevocationService = new TokenRevocationServiceImpl(tokenRevocationRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(tokenRevocationService, "accessTokenExpirationMs", 900_000L);
+		ReflectionTestUtils.setField(tokenRevocationService, "expectedInsertions", 1000L);
+		ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+		ReflectionTestUtils.setField(tokenRevocationService, "syncOverlapMs", 60_000L);
+		when(tokenRevocationRepository.findUpdatedSince(Mockito.any())).thenReturn(List.of());
+		tokenRevocationService.init();
+	}
+
+	@Test
+	@DisplayName("Method: isRevoked -> user not in the filter is accepted without a DB read")
+	void isRevoked_WhenNotInFilter_ShouldSkipRepository() {
+		Assertions.assertFalse(tokenRevocationService.isRevoked(5L, Instant.now()));
+
+		verify(tokenRevocationRepository, never()).findRevokedBefore(5L);
+	}
+
+	@Test
+	@DisplayName("Method: revokeAllTokens -> tokens issued before the cut-off are revoked, later ones are not")
+	void revokeAllTokens_ShouldRejectOlderTokensOnly() {
+		Instant issuedAt = Instant.now().minusSeconds(30);
+
+		tokenRevocationService.revokeAllTokens(7L);
+
+		ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+		verify(tokenRevocationRepository).upsert(Mockito.eq(7L), cutoff.capture());
+		when(tokenRevocationRepository.findRevokedBefore(7L)).thenReturn(Optional.of(cutoff.getValue()));
+
+		Assertions.assertTrue(tokenRevocationService.isRevoked(7L, issuedAt));
+		Assertions.assertFalse(tokenRevocationService.isRevoked(7L, cutoff.getValue()));
+	}
+
+	@Test
+	@DisplayName("Method: sync -> revocations written by another node reach the filter")
+	void sync_ShouldAddRemoteRevocations() {
+		Instant cutoff = Instant.now();
+		when(tokenRevocationRepository.findUpdatedSince(Mockito.any()))
+				.thenReturn(List.of(TokenRevocation.builder().userId(9L).revokedBefore(cutoff).updated(cutoff).build()));
+		when(tokenRevocationRepository.findRevokedBefore(9L)).thenReturn(Optional.of(cutoff));
+
+		tokenRevocationService.sync();
+
+		Assertions.assertTrue(tokenRevocationService.isRevoked(9L, cutoff.minusSeconds(1)));
+	}
+
+	@Test
+	@DisplayName("Method: isRevoked -> false positive in the filter falls back to the DB and accepts the token")
+	void isRevoked_WhenDbHasNoRow_ShouldAccept() {
+		tokenRevocationService.revokeAllTokens(11L);
+		when(tokenRevocationRepository.findRevokedBefore(11L)).thenReturn(Optional.empty());
+
+		Assertions.assertFalse(tokenRevocationService.isRevoked(11L, Instant.now().minusSeconds(60)));
+	}
+}
@@ -0,0 +1,85 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import vn.io.nghlong3004.apartment_management.model.TotalCountMode;
+import vn.io.nghlong3004.apartment_management.repository.FloorRepository;
+import vn.io.nghlong3004.apartment_management.repository.FloorRequestRepository;
+import vn.io.nghlong3004.apartment_management.repository.RoomRepository;
+import vn.io.nghlong3004.apartment_management.repository.StatisticsRepository;
+
+class TotalCountServiceImplTest {
+
+	private final FloorRepository floorRepository = Mockito.mock(FloorRepository.class);
+
+	private final RoomRepository roomRepository = Mockito.mock(RoomRepository.class);
+
+	private final FloorRequestRepository floorRequestRepository = Mockito.mock(FloorRequestRepository.class);
+
+	private final StatisticsRepository statisticsRepository = Mockito.mock(StatisticsRepository.class);
+
+	private TotalCountServiceImpl createService(TotalCountMode mode) {
+		return new TotalCountServiceImpl(floorRepository, roomRepository, floorRequestRepository,
+				statisticsRepository, new SimpleMeterRegistry(), mode, 60, 100);
+	}
+
+	@Test
+	@DisplayName("Method: countFloors -> EXACT counts on every call")
+	void countFloors_WhenExact_ShouldCountEveryTime() {
+		TotalCountServiceImpl service = createService(TotalCountMode.EXACT);
+		when(floorRepository.countAll()).thenReturn(3L);
+
+		service.countFloors();
+		service.countFloors();
+
+		verify(floorRepository, times(2)).countAll();
+	}
+
+	@Test
+	@DisplayName("Method: countRooms -> CACHED counts once until the floor's rooms are invalidated")
+	void countRooms_WhenCached_ShouldCountAgainOnlyAfterInvalidate() {
+		TotalCountServiceImpl service = createService(TotalCountMode.CACHED);
+		when(roomRepository.countByFloorId(1L)).thenReturn(4L, 5L);
+		when(roomRepository.countByFloorId(2L)).thenReturn(7L);
+
+		Assertions.assertEquals(4L, service.countRooms(1L));
+		Assertions.assertEquals(7L, service.countRooms(2L));
+		service.invalidateRooms(1L);
+
+		Assertions.assertEquals(5L, service.countRooms(1L));
+		Assertions.assertEquals(7L, service.countRooms(2L));
+		verify(roomRepository, times(2)).countByFloorId(1L);
+		verify(roomRepository, times(1)).countByFloorId(2L);
+	}
+
+	@Test
+	@DisplayName("Method: countRequests -> ESTIMATED uses planner statistics without counting")
+	void countRequests_WhenEstimated_ShouldUseReltuples() {
+		TotalCountServiceImpl service = createService(TotalCountMode.ESTIMATED);
+		when(statisticsRepository.estimateRowCount("floor_request")).thenReturn(Optional.of(120_000L));
+
+		Assertions.assertEquals(120_000L, service.countRequests());
+		verify(floorRequestRepository, never()).countAll();
+	}
+
+	@Test
+	@DisplayName("Method: countFloors -> ESTIMATED falls back to a count for a never-analyzed table")
+	void countFloors_WhenNoEstimate_ShouldFallBackToCount() {
+		TotalCountServiceImpl service = createService(TotalCountMode.ESTIMATED);
+		when(statisticsRepository.estimateRowCount("floor")).thenReturn(Optional.of(-1L));
+		when(floorRepository.countAll()).thenReturn(9L);
+
+		Assertions.assertEquals(9L, service.countFloors());
+	}
+}
@@ -0,0 +1,113 @@
+package vn.io.nghlong3004.apartment_management.service.impl;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
+import vn.io.nghlong3004.apartment_management.exception.ResourceException;
+import vn.io.nghlong3004.apartment_management.model.JwtClaims;
+import vn.io.nghlong3004.apartment_management.model.Role;
+import vn.io.nghlong3004.apartment_management.model.User;
+import vn.io.nghlong3004.apartment_management.model.UserStatus;
+import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.security.PrincipalCache;
+
+class UserDetailsServiceImplTest {
+
+	private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+
+	private PrincipalCache principalCache;
+
+	private UserDetailsServiceImpl userDetailsService;
+
+	private User sampleUser(Long id, Role role) {
+		return User.builder().id(id).email("user" + id + "@example.com").password("hash").role(role)
+				.status(UserStatus.ACTIVE).build();
+	}
+
+	private JwtClaims sampleClaims(Long id, String role) {
+		List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+		return new JwtClaims(id, List.of(role), authorities, Instant.now(), Instant.now().plusSeconds(900));
+	}
+
+	@BeforeEach
+	void setup() {
+		principalCache = new PrincipalCache(30, 100);
+		userDetailsService = new UserDetailsServiceImpl(userRepository, principalCache);
+	}
+
+	@Test
+	@DisplayName("Method: loadUserById -> second lookup is served from the principal cache")
+	void loadUserById_WhenCalledTwice_ShouldQueryOnce() {
+		when(userRepository.findById(5L)).thenReturn(Optional.of(sampleUser(5L, Role.USER)));
+
+		UserDetails first = userDetailsService.loadUserById(5L);
+		UserDetails second = userDetailsService.loadUserById(5L);
+
+		Assertions.assertSame(first, second);
+		verify(userRepository, times(1)).findById(5L);
+	}
+
+	@Test
+	@DisplayName("Method: loadUserById -> evicted principal is reloaded with the new role")
+	void loadUserById_AfterEvict_ShouldReload() {
+		when(userRepository.findById(6L)).thenReturn(Optional.of(sampleUser(6L, Role.USER)),
+				Optional.of(sampleUser(6L, Role.MANAGER)));
+
+		UserDetails before = userDetailsService.loadUserById(6L);
+		principalCache.evict(6L);
+		UserDetails after = userDetailsService.loadUserById(6L);
+
+		Assertions.assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), before.getAuthorities());
+		Assertions.assertEquals(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")), after.getAuthorities());
+		verify(userRepository, times(2)).findById(6L);
+	}
+
+	@Test
+	@DisplayName("Method: loadUserById -> throws ID_NOT_FOUND when user does not exist")
+	void loadUserById_WhenUserMissing_ShouldThrow() {
+		when(userRepository.findById(7L)).thenReturn(Optional.empty());
+
+		ResourceException ex = Assertions.assertThrows(ResourceException.class,
+				() -> userDetailsService.loadUserById(7L));
+		Assertions.assertEquals(ErrorMessageConstant.ID_NOT_FOUND, ex.getMessage());
+	}
+
+	@Test
+	@DisplayName("Method: loadUser -> trusts JWT claims without a DB lookup when enabled")
+	void loadUser_WhenTrustingClaims_ShouldSkipRepository() {
+		ReflectionTestUtils.setField(userDetailsService, "trustJwtClaims", true);
+
+		UserDetails user = userDetailsService.loadUser(sampleClaims(8L, "ADMIN"));
+
+		Assertions.assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), user.getAuthorities());
+		verify(userRepository, never()).findById(8L);
+	}
+
+	@Test
+	@DisplayName("Method: loadUser -> loads principal from the repository when claims are not trusted")
+	void loadUser_WhenNotTrustingClaims_ShouldLoadFromRepository() {
+		when(userRepository.findById(9L)).thenReturn(Optional.of(sampleUser(9L, Role.USER)));
+
+		UserDetails user = userDetailsService.loadUser(sampleClaims(9L, "ADMIN"));
+
+		Assertions.assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), user.getAuthorities());
+		verify(userRepository).findById(9L);
+	}
+}
@@ -2,6 +2,7 @@ package vn.io.nghlong3004.apartment_management.service.impl;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static vn.io.nghlong3004.apartment_management.util.GenerateUtil.generateEmail;
@@ -28,7 +29,6 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import vn.io.nghlong3004.apartment_management.constant.ErrorMessageConstant;
@@ -42,8 +42,10 @@ import vn.io.nghlong3004.apartment_management.model.dto.RegisterRequest;
 import vn.io.nghlong3004.apartment_management.model.dto.Token;
 import vn.io.nghlong3004.apartment_management.model.dto.UserDto;
 import vn.io.nghlong3004.apartment_management.repository.UserRepository;
+import vn.io.nghlong3004.apartment_management.security.PasswordHasher;
 import vn.io.nghlong3004.apartment_management.service.JWTService;
 import vn.io.nghlong3004.apartment_management.service.RefreshTokenService;
+import vn.io.nghlong3004.apartment_management.service.TokenRevocationService;
 import vn.io.nghlong3004.apartment_management.service.validator.UserServiceValidator;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,13 +54,15 @@ class UserServiceImplTest {
 	@Mock
 	private UserRepository mockUserRepository;
 	@Mock
-	private PasswordEncoder mockPasswordEncoder;
+	private PasswordHasher mockPasswordHasher;
 	@Mock
 	private JWTService mockJwtService;
 	@Mock
 	private RefreshTokenService mockRefreshTokenService;
 	@Mock
 	private UserServiceValidator mockUserServiceValidator;
+	@Mock
+	private TokenRevocationService mockTokenRevocationService;
 
 	@InjectMocks
 	private UserServiceImpl userServiceImpl;
@@ -97,7 +101,7 @@ class UserServiceImplTest {
 		Mockito.doNothing().when(mockUserServiceValidator).ensureEmailNotExists(anyString());
 
 		String encoded = UUID.randomUUID().toString();
-		when(mockPasswordEncoder.encode(registerRequest.password())).thenReturn(encoded);
+		when(mockPasswordHasher.encode(registerRequest.password())).thenReturn(encoded);
 
 		userServiceImpl.register(registerRequest);
 
@@ -213,22 +217,20 @@ class UserServiceImplTest {
 	@Test
 	@DisplayName("Method: getUser -> should return UserDto when found")
 	void getUser_WhenFound_ShouldReturnDto() {
-		User user = User.builder().id(5L).email("a@b.com").firstName("A").lastName("B").phoneNumber("0909").build();
+		UserDto profile = UserDto.builder().email("a@b.com").firstName("A").lastName("B").phoneNumber("0909").build();
 
-		when(mockUserRepository.findById(5L)).thenReturn(Optional.of(user));
+		when(mockUserRepository.findProfileById(5L)).thenReturn(Optional.of(profile));
 
 		UserDto dto = userServiceImpl.getUser(5L);
 
-		Assertions.assertEquals(user.getEmail(), dto.getEmail());
-		Assertions.assertEquals(user.getFirstName(), dto.getFirstName());
-		Assertions.assertEquals(user.getLastName(), dto.getLastName());
-		Assertions.assertEquals(user.getPhoneNumber(), dto.getPhoneNumber());
+		Assertions.assertSame(profile, dto);
+		verify(mockUserRepository, never()).findById(5L);
 	}
 
 	@Test
 	@DisplayName("Method: getUser -> should throw when not found")
 	void getUser_WhenNotFound_ShouldThrow() {
-		when(mockUserRepository.findById(99L)).thenReturn(Optional.empty());
+		when(mockUserRepository.findProfileById(99L)).thenReturn(Optional.empty());
 		ResourceException ex = Assertions.assertThrows(ResourceException.class, () -> userServiceImpl.getUser(99L));
 		Assertions.assertEquals(ErrorMessageConstant.ID_NOT_FOUND, ex.getMessage());
 	}
@@ -381,6 +383,7 @@ class UserServiceImplTest {
 
 		verify(mockUserServiceValidator).ensureCanDeleteUser(id);
 		verify(mockUserRepository).delete(id);
+		verify(mockTokenRevocationService).revokeAllTokens(id);
 	}
 
 	@Test
@@ -394,6 +397,6 @@ class UserServiceImplTest {
 		ResourceException ex = Assertions.assertThrows(ResourceException.class, () -> userServiceImpl.delete(id));
 		Assertions.assertEquals(ErrorMessageConstant.FORBIDDEN, ex.getMessage());
 
-		Mockito.verifyNoInteractions(mockUserRepository);
+		Mockito.verifyNoInteractions(mockUserRepository, mockTokenRevocationService);
 	}
 }
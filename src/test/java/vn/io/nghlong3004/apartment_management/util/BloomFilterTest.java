@@ -0,0 +1,36 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	@DisplayName("Method: mightContain -> never a false negative for inserted keys")
+	void mightContain_ShouldContainInsertedKeys() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long key = 1; key <= 10_000; ++key) {
+			filter.put(key * 7919);
+		}
+		for (long key = 1; key <= 10_000; ++key) {
+			Assertions.assertTrue(filter.mightContain(key * 7919));
+		}
+	}
+
+	@Test
+	@DisplayName("Method: mightContain -> false positive rate stays near the configured target")
+	void mightContain_ShouldKeepFalsePositiveRateLow() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (long key = 0; key < 10_000; ++key) {
+			filter.put(key);
+		}
+		int falsePositives = 0;
+		for (long key = 1_000_000; key < 1_100_000; ++key) {
+			if (filter.mightContain(key)) {
+				++falsePositives;
+			}
+		}
+		Assertions.assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+	}
+}
@@ -0,0 +1,57 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import vn.io.nghlong3004.apartment_management.model.PageCursor;
+
+class KeysetPageUtilTest {
+
+	private final Set<String> columns = Set.of("id");
+
+	private final Function<Long, String> value = String::valueOf;
+
+	private final Function<Long, Long> id = Function.identity();
+
+	@Test
+	@DisplayName("Method: page -> forward page drops the look-ahead row and links both ways")
+	void page_WhenForwardWithMore_ShouldLinkNextAndPrev() {
+		PageCursor cursor = new PageCursor("id", false, false, "10", 10L);
+		List<Long> rows = List.of(11L, 12L, 13L);
+
+		List<Long> page = KeysetPageUtil.page(rows, cursor, 2);
+		String next = KeysetPageUtil.next(page, cursor, KeysetPageUtil.hasNext(rows.size(), cursor, 2), value, id);
+		String prev = KeysetPageUtil.prev(page, cursor, KeysetPageUtil.hasPrev(rows.size(), cursor, 2), value, id);
+
+		Assertions.assertEquals(List.of(11L, 12L), page);
+		Assertions.assertEquals(new PageCursor("id", false, false, "12", 12L), PageCursor.decode(next, columns));
+		Assertions.assertEquals(new PageCursor("id", false, true, "11", 11L), PageCursor.decode(prev, columns));
+	}
+
+	@Test
+	@DisplayName("Method: page -> backward page is returned in display order and stops at the first page")
+	void page_WhenBackwardAtStart_ShouldReverseAndOmitPrev() {
+		PageCursor cursor = new PageCursor("id", false, true, "3", 3L);
+		List<Long> rows = List.of(2L, 1L);
+
+		List<Long> page = KeysetPageUtil.page(rows, cursor, 2);
+		String next = KeysetPageUtil.next(page, cursor, KeysetPageUtil.hasNext(rows.size(), cursor, 2), value, id);
+		String prev = KeysetPageUtil.prev(page, cursor, KeysetPageUtil.hasPrev(rows.size(), cursor, 2), value, id);
+
+		Assertions.assertEquals(List.of(1L, 2L), page);
+		Assertions.assertEquals(new PageCursor("id", false, false, "2", 2L), PageCursor.decode(next, columns));
+		Assertions.assertNull(prev);
+	}
+
+	@Test
+	@DisplayName("Method: next/prev -> no links without a keyset-capable sort")
+	void next_WhenCursorIsNull_ShouldReturnNull() {
+		Assertions.assertNull(KeysetPageUtil.next(List.of(1L), null, true, value, id));
+		Assertions.assertNull(KeysetPageUtil.prev(List.of(1L), null, true, value, id));
+	}
+}
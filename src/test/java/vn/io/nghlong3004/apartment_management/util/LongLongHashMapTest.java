@@ -0,0 +1,68 @@
+package vn.io.nghlong3004.apartment_management.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+
+	@Test
+	@DisplayName("Method: put/get -> values survive growing far past the initial capacity")
+	void put_WhenGrowing_ShouldKeepEveryEntry() {
+		LongLongHashMap map = new LongLongHashMap(4);
+		for (long key = 1; key <= 10_000; ++key) {
+			map.put(key * 31, key);
+		}
+
+		Assertions.assertEquals(10_000, map.size());
+		for (long key = 1; key <= 10_000; ++key) {
+			Assertions.assertEquals(key, map.get(key * 31, -1));
+		}
+		Assertions.assertEquals(-1, map.get(7, -1));
+	}
+
+	@Test
+	@DisplayName("Method: remove -> matches java.util.HashMap under random puts and removes")
+	void remove_ShouldAgreeWithHashMap() {
+		LongLongHashMap map = new LongLongHashMap(16);
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 50_000; ++i) {
+			long key = 1 + random.nextInt(500);
+			if (random.nextBoolean()) {
+				map.put(key, i);
+				expected.put(key, (long) i);
+			} else {
+				map.remove(key);
+				expected.remove(key);
+			}
+		}
+
+		Assertions.assertEquals(expected.size(), map.size());
+		for (long key = 1; key <= 500; ++key) {
+			Assertions.assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1));
+		}
+	}
+
+	@Test
+	@DisplayName("Method: putIfAbsent -> keeps the existing value")
+	void putIfAbsent_WhenPresent_ShouldKeepValue() {
+		LongLongHashMap map = new LongLongHashMap(4);
+		map.put(5, 0);
+
+		Assertions.assertFalse(map.putIfAbsent(5, 9));
+		Assertions.assertTrue(map.putIfAbsent(6, 9));
+		Assertions.assertEquals(0, map.get(5, -1));
+		Assertions.assertEquals(9, map.get(6, -1));
+	}
+
+	@Test
+	@DisplayName("Method: put -> key 0 is rejected")
+	void put_WhenKeyZero_ShouldThrow() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new LongLongHashMap(4).put(0, 1));
+	}
+}